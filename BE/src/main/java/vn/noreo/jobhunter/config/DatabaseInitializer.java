@@ -54,10 +54,12 @@ public class DatabaseInitializer implements CommandLineRunner {
             listPermissions.add(new Permission("Get a company by id", "/api/v1/companies/{id}", "GET", "COMPANIES"));
 
             listPermissions.add(new Permission("Create a job", "/api/v1/jobs", "POST", "JOBS"));
+            listPermissions.add(new Permission("Import jobs", "/api/v1/jobs/import", "POST", "JOBS"));
             listPermissions.add(new Permission("Update a job", "/api/v1/jobs", "PUT", "JOBS"));
             listPermissions.add(new Permission("Delete a job", "/api/v1/jobs/{id}", "DELETE", "JOBS"));
             listPermissions.add(new Permission("Get a job by id", "/api/v1/jobs/{id}", "GET", "JOBS"));
             listPermissions.add(new Permission("Get all jobs with pagination", "/api/v1/jobs", "GET", "JOBS"));
+            listPermissions.add(new Permission("Export jobs", "/api/v1/jobs/export", "GET", "JOBS"));
 
             listPermissions.add(new Permission("Create a permission", "/api/v1/permissions", "POST", "PERMISSIONS"));
             listPermissions.add(new Permission("Update a permission", "/api/v1/permissions", "PUT", "PERMISSIONS"));
@@ -73,6 +75,10 @@ public class DatabaseInitializer implements CommandLineRunner {
             listPermissions.add(new Permission("Delete a resume", "/api/v1/resumes/{id}", "DELETE", "RESUMES"));
             listPermissions.add(new Permission("Get a resume by id", "/api/v1/resumes/{id}", "GET", "RESUMES"));
             listPermissions.add(new Permission("Get all resumes with pagination", "/api/v1/resumes", "GET", "RESUMES"));
+            listPermissions.add(new Permission("Export resumes", "/api/v1/resumes/export", "GET", "RESUMES"));
+            listPermissions.add(new Permission("Update status of resumes", "/api/v1/resumes/status", "PUT", "RESUMES"));
+            listPermissions.add(new Permission("Get resume inbox of the company", "/api/v1/resumes/inbox", "GET",
+                    "RESUMES"));
 
             listPermissions.add(new Permission("Create a role", "/api/v1/roles", "POST", "ROLES"));
             listPermissions.add(new Permission("Update a role", "/api/v1/roles", "PUT", "ROLES"));
@@ -85,6 +91,7 @@ public class DatabaseInitializer implements CommandLineRunner {
             listPermissions.add(new Permission("Delete a user", "/api/v1/users/{id}", "DELETE", "USERS"));
             listPermissions.add(new Permission("Get a user by id", "/api/v1/users/{id}", "GET", "USERS"));
             listPermissions.add(new Permission("Get all users with pagination", "/api/v1/users", "GET", "USERS"));
+            listPermissions.add(new Permission("Export users", "/api/v1/users/export", "GET", "USERS"));
 
             listPermissions.add(new Permission("Create a subscriber", "/api/v1/subscribers", "POST", "SUBSCRIBERS"));
             listPermissions.add(new Permission("Update a subscriber", "/api/v1/subscribers", "PUT", "SUBSCRIBERS"));
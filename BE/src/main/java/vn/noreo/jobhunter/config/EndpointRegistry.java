@@ -0,0 +1,170 @@
+package vn.noreo.jobhunter.config;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import jakarta.servlet.http.HttpServletRequest;
+import vn.noreo.jobhunter.domain.Permission;
+import vn.noreo.jobhunter.repository.PermissionRepository;
+
+// Gives every (pattern, HTTP method) handled by the application a stable int id,
+// so permission checks, metrics... can key on an int instead of strings
+@Component
+public class EndpointRegistry {
+
+    public static final String ENDPOINT_ID_ATTRIBUTE = EndpointRegistry.class.getName() + ".endpointId";
+    public static final int UNKNOWN_ENDPOINT = -1;
+
+    // Methods used when a mapping does not restrict the HTTP method
+    private static final RequestMethod[] ANY_METHOD = {
+            RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.PATCH, RequestMethod.DELETE
+    };
+
+    private final PermissionRepository permissionRepository;
+    private final Logger log = LoggerFactory.getLogger(EndpointRegistry.class);
+
+    // Written once on startup, read-only afterwards
+    private volatile String[] endpoints = new String[0];
+    private volatile Map<String, Integer> idsByKey = Collections.emptyMap();
+    private volatile Map<Method, Integer> idsByHandler = Collections.emptyMap();
+
+    public EndpointRegistry(PermissionRepository permissionRepository) {
+        this.permissionRepository = permissionRepository;
+    }
+
+    // The handler mapping is read from the context (not injected) because it
+    // depends on the interceptors, which depend on this registry
+    @EventListener(ContextRefreshedEvent.class)
+    public void onContextRefreshed(ContextRefreshedEvent event) {
+        RequestMappingHandlerMapping handlerMapping = event.getApplicationContext()
+                .getBean("requestMappingHandlerMapping", RequestMappingHandlerMapping.class);
+        Map<RequestMappingInfo, HandlerMethod> handlerMethods = handlerMapping.getHandlerMethods();
+
+        // Sort the keys so that ids stay the same between restarts
+        TreeSet<String> sortedKeys = new TreeSet<>();
+        Map<Method, Set<String>> keysByHandler = new HashMap<>();
+        handlerMethods.forEach((info, handlerMethod) -> {
+            Set<RequestMethod> methods = info.getMethodsCondition().getMethods();
+            RequestMethod[] httpMethods = methods.isEmpty() ? ANY_METHOD : methods.toArray(new RequestMethod[0]);
+            for (String pattern : info.getPatternValues()) {
+                for (RequestMethod httpMethod : httpMethods) {
+                    String key = key(httpMethod.name(), pattern);
+                    sortedKeys.add(key);
+                    keysByHandler.computeIfAbsent(handlerMethod.getMethod(), m -> new HashSet<>()).add(key);
+                }
+            }
+        });
+
+        String[] newEndpoints = sortedKeys.toArray(new String[0]);
+        Map<String, Integer> newIdsByKey = new HashMap<>();
+        for (int i = 0; i < newEndpoints.length; i++) {
+            newIdsByKey.put(newEndpoints[i], i);
+        }
+
+        // Attach the id directly to handler methods that serve a single endpoint
+        Map<Method, Integer> newIdsByHandler = new HashMap<>();
+        keysByHandler.forEach((method, keys) -> {
+            if (keys.size() == 1) {
+                newIdsByHandler.put(method, newIdsByKey.get(keys.iterator().next()));
+            }
+        });
+
+        this.idsByKey = Collections.unmodifiableMap(newIdsByKey);
+        this.idsByHandler = Collections.unmodifiableMap(newIdsByHandler);
+        this.endpoints = newEndpoints;
+        log.info(">>> Endpoint registry built: {} endpoints", newEndpoints.length);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        this.reportCoverage(this.permissionRepository.findAll());
+    }
+
+    public int size() {
+        return this.endpoints.length;
+    }
+
+    public int getId(String httpMethod, String pattern) {
+        Integer id = this.idsByKey.get(key(httpMethod, pattern));
+        return id != null ? id : UNKNOWN_ENDPOINT;
+    }
+
+    // Resolve the endpoint id of the current request (cached as a request
+    // attribute)
+    public int resolve(HttpServletRequest request, Object handler) {
+        Object cached = request.getAttribute(ENDPOINT_ID_ATTRIBUTE);
+        if (cached instanceof Integer id) {
+            return id;
+        }
+
+        int id = UNKNOWN_ENDPOINT;
+        if (handler instanceof HandlerMethod handlerMethod) {
+            Integer handlerId = this.idsByHandler.get(handlerMethod.getMethod());
+            if (handlerId != null) {
+                id = handlerId;
+            }
+        }
+        if (id == UNKNOWN_ENDPOINT) {
+            String pattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                id = this.getId(request.getMethod(), pattern);
+            }
+        }
+        request.setAttribute(ENDPOINT_ID_ATTRIBUTE, id);
+        return id;
+    }
+
+    // Log permission rows that match no endpoint and API endpoints without any
+    // permission row
+    public void reportCoverage(List<Permission> permissions) {
+        List<String> unmatchedPermissions = new ArrayList<>();
+        Set<Integer> coveredIds = new HashSet<>();
+        for (Permission permission : permissions) {
+            int id = this.getId(permission.getMethod(), permission.getApiPath());
+            if (id == UNKNOWN_ENDPOINT) {
+                unmatchedPermissions.add(permission.getId() + ": " + key(permission.getMethod(),
+                        permission.getApiPath()));
+            } else {
+                coveredIds.add(id);
+            }
+        }
+
+        List<String> uncoveredEndpoints = new ArrayList<>();
+        String[] currentEndpoints = this.endpoints;
+        for (int i = 0; i < currentEndpoints.length; i++) {
+            if (!coveredIds.contains(i) && currentEndpoints[i].contains(" /api/")) {
+                uncoveredEndpoints.add(currentEndpoints[i]);
+            }
+        }
+
+        if (!unmatchedPermissions.isEmpty()) {
+            log.warn(">>> Permissions matching no endpoint: {}", unmatchedPermissions);
+        }
+        if (!uncoveredEndpoints.isEmpty()) {
+            log.info(">>> Endpoints without permission: {}", uncoveredEndpoints);
+        }
+    }
+
+    private static String key(String httpMethod, String pattern) {
+        return httpMethod + " " + pattern;
+    }
+}
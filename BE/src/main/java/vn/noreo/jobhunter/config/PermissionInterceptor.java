@@ -1,28 +1,32 @@
 package vn.noreo.jobhunter.config;
 
-import java.util.List;
+import java.util.Optional;
 
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.HandlerMapping;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import vn.noreo.jobhunter.domain.Permission;
-import vn.noreo.jobhunter.domain.Role;
-import vn.noreo.jobhunter.domain.User;
-import vn.noreo.jobhunter.service.UserService;
+import vn.noreo.jobhunter.service.PermissionMatrixService;
+import vn.noreo.jobhunter.service.UserTokenVersionService;
+import vn.noreo.jobhunter.util.CurrentUserSnapshot;
 import vn.noreo.jobhunter.util.SecurityUtil;
+import vn.noreo.jobhunter.util.error.InvalidTokenException;
 import vn.noreo.jobhunter.util.error.PermissionException;
 
 public class PermissionInterceptor implements HandlerInterceptor {
 
     @Autowired
-    UserService userService;
+    PermissionMatrixService permissionMatrixService;
+
+    @Autowired
+    EndpointRegistry endpointRegistry;
+
+    @Autowired
+    UserTokenVersionService userTokenVersionService;
 
     @Override
-    @Transactional
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
             throws Exception {
         String path = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
@@ -33,24 +37,33 @@ public class PermissionInterceptor implements HandlerInterceptor {
         System.out.println(">>> httpMethod= " + httpMethod);
         System.out.println(">>> requestURI= " + requestURI);
 
-        // Check permission
-        String email = SecurityUtil.getCurrentUserLogin().isPresent() == true ? SecurityUtil.getCurrentUserLogin().get()
-                : "";
-        if (email != null && !email.isEmpty()) {
-            User user = this.userService.handleFetchUserByUsername(email);
-            if (user != null) {
-                Role role = user.getRole();
-                if (role != null) {
-                    List<Permission> permissions = role.getPermissions();
-                    boolean isAllowed = permissions.stream()
-                            .anyMatch(eachPermission -> eachPermission.getApiPath().equals(path)
-                                    && eachPermission.getMethod().equals(httpMethod));
-                    if (isAllowed == false) {
-                        throw new PermissionException("You are not authorized to access this resource");
-                    }
-                } else {
-                    throw new PermissionException("Access denied: missing required role");
-                }
+        // Check permission: role id + permission version come from the access token
+        // (request snapshot), permissions from the in-memory matrix (no DB lookup)
+        Optional<CurrentUserSnapshot> currentUserOpt = SecurityUtil.getCurrentUserSnapshot();
+        if (SecurityUtil.getCurrentJwt().isPresent() && currentUserOpt.isPresent()) {
+            CurrentUserSnapshot currentUser = currentUserOpt.get();
+            Long roleId = currentUser.getRoleId();
+            if (roleId == null) {
+                throw new PermissionException("Access denied: missing required role");
+            }
+
+            Long permissionVersion = currentUser.getPermissionVersion();
+            if (permissionVersion == null
+                    || !this.permissionMatrixService.isCurrentVersion(roleId, permissionVersion)) {
+                throw new InvalidTokenException("Permissions have changed, please refresh your access token");
+            }
+
+            // Role or company of this user changed since the token was issued
+            Long tokenVersion = currentUser.getTokenVersion();
+            if (currentUser.getId() == null || tokenVersion == null
+                    || !this.userTokenVersionService.isCurrentVersion(currentUser.getId(), tokenVersion)) {
+                throw new InvalidTokenException("Your account has changed, please refresh your access token");
+            }
+
+            int endpointId = this.endpointRegistry.resolve(request, handler);
+            boolean isAllowed = this.permissionMatrixService.isAllowed(roleId, endpointId);
+            if (isAllowed == false) {
+                throw new PermissionException("You are not authorized to access this resource");
             }
         }
         return true;
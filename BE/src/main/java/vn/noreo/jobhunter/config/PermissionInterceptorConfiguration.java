@@ -13,6 +13,11 @@ public class PermissionInterceptorConfiguration implements WebMvcConfigurer {
         return new PermissionInterceptor();
     }
 
+    @Bean
+    UserLookupMetricsInterceptor getUserLookupMetricsInterceptor() {
+        return new UserLookupMetricsInterceptor();
+    }
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         String[] whiteList = {
@@ -23,5 +28,6 @@ public class PermissionInterceptorConfiguration implements WebMvcConfigurer {
         };
         registry.addInterceptor(getPermissionInterceptor())
                 .excludePathPatterns(whiteList);
+        registry.addInterceptor(getUserLookupMetricsInterceptor());
     }
 }
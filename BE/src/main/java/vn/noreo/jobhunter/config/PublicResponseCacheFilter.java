@@ -0,0 +1,75 @@
+package vn.noreo.jobhunter.config;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import vn.noreo.jobhunter.service.ResponseCacheService;
+
+// Serves the public listings to anonymous users from ResponseCacheService. Runs
+// around the whole MVC pipeline => the cached bytes are the final body (after
+// FormatRestResponse and Jackson), a hit touches neither JPA nor Jackson
+@Component
+public class PublicResponseCacheFilter extends OncePerRequestFilter {
+
+    private final ResponseCacheService responseCacheService;
+
+    public PublicResponseCacheFilter(ResponseCacheService responseCacheService) {
+        this.responseCacheService = responseCacheService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod())
+                || request.getHeader(HttpHeaders.AUTHORIZATION) != null
+                || !this.responseCacheService.isCacheable(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        // Generations are read before the request runs: a response racing with a
+        // write is stored under the old generation, never served after it
+        String key = this.responseCacheService.buildKey(request);
+        ResponseCacheService.CachedResponse cachedResponse = this.responseCacheService.get(key);
+        if (cachedResponse != null) {
+            this.writeCachedResponse(request, response, cachedResponse);
+            return;
+        }
+
+        // Same Vary as a hit: a later hit may be gzipped, shared caches must key on it
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, responseWrapper);
+        if (responseWrapper.getStatus() == HttpStatus.OK.value()) {
+            this.responseCacheService.put(key, responseWrapper.getContentType(),
+                    responseWrapper.getContentAsByteArray());
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+
+    private void writeCachedResponse(HttpServletRequest request, HttpServletResponse response,
+            ResponseCacheService.CachedResponse cachedResponse) throws IOException {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = cachedResponse.getGzippedBody() != null && acceptEncoding != null
+                && acceptEncoding.contains("gzip");
+        byte[] body = gzip ? cachedResponse.getGzippedBody() : cachedResponse.getBody();
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(cachedResponse.getContentType());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
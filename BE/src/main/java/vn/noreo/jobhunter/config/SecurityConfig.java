@@ -1,29 +1,36 @@
 package vn.noreo.jobhunter.config;
 
+import java.util.List;
+
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
-import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.SecurityFilterChain;
 
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import com.nimbusds.jose.util.Base64;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import vn.noreo.jobhunter.service.TokenRevocationService;
+import vn.noreo.jobhunter.util.BoundedPasswordEncoder;
+import vn.noreo.jobhunter.util.JwtTokenVerifier;
 import vn.noreo.jobhunter.util.SecurityUtil;
 
 @Configuration
@@ -33,14 +40,22 @@ public class SecurityConfig {
     @Value("${jwt.KEY.base64-secret}")
     private String jwtKey;
 
+    // BCrypt runs on its own bounded pool, not on Tomcat threads
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${security.bcrypt.strength:10}") int strength,
+            @Value("${security.password-hashing.pool-size:2}") int poolSize,
+            @Value("${security.password-hashing.queue-capacity:50}") int queueCapacity,
+            @Value("${security.password-hashing.timeout-ms:5000}") long timeoutMillis,
+            MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(strength, poolSize, queueCapacity, timeoutMillis, meterRegistry);
     }
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http,
-            CustomAuthenticationEntryPoint customAuthenticationEntryPoint) throws Exception {
+            CustomAuthenticationEntryPoint customAuthenticationEntryPoint,
+            JwtAuthenticationConverter jwtAuthenticationConverter,
+            TokenRevocationService tokenRevocationService) throws Exception {
         String[] whiteList = {
                 "/",
                 "/api/v1/auth/login", "/api/v1/auth/refresh", "/api/v1/auth/register",
@@ -54,11 +69,15 @@ public class SecurityConfig {
                 .cors(Customizer.withDefaults())
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(whiteList).permitAll()
+                        // Bulk export: signed-in users only
+                        .requestMatchers(HttpMethod.GET, "/api/v1/jobs/export").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/v1/companies/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/jobs/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/skills/**").permitAll()
                         .anyRequest().authenticated())
-                .oauth2ResourceServer((oauth2) -> oauth2.jwt(Customizer.withDefaults())
+                .oauth2ResourceServer((oauth2) -> oauth2
+                        .jwt(jwt -> jwt.jwtAuthenticationConverter(
+                                revocationAwareConverter(jwtAuthenticationConverter, tokenRevocationService)))
                         .authenticationEntryPoint(customAuthenticationEntryPoint))
                 // .exceptionHandling(
                 // exceptions -> exceptions
@@ -70,25 +89,32 @@ public class SecurityConfig {
     }
 
     // Convert JWT to Authentication object
-    // Mục đích là để lấy ra các quyền từ JWT và gán vào Authentication object
+    // No granted authorities: tokens carry the role id + permission version and
+    // PermissionInterceptor authorizes from the permission matrix
     @Bean
     public JwtAuthenticationConverter jwtAuthenticationConverter() {
-        JwtGrantedAuthoritiesConverter grantedAuthoritiesConverter = new JwtGrantedAuthoritiesConverter();
-        grantedAuthoritiesConverter.setAuthorityPrefix("");
-        grantedAuthoritiesConverter.setAuthoritiesClaimName("permission");
-
         JwtAuthenticationConverter jwtAuthenticationConverter = new JwtAuthenticationConverter();
-        jwtAuthenticationConverter.setJwtGrantedAuthoritiesConverter(grantedAuthoritiesConverter);
+        jwtAuthenticationConverter.setJwtGrantedAuthoritiesConverter(jwt -> List.of());
         return jwtAuthenticationConverter;
     }
 
+    // Reject access tokens revoked before their expiry (logout) => 401
+    private Converter<Jwt, AbstractAuthenticationToken> revocationAwareConverter(
+            JwtAuthenticationConverter jwtAuthenticationConverter, TokenRevocationService tokenRevocationService) {
+        return jwt -> {
+            if (tokenRevocationService.isRevoked(jwt.getId())) {
+                throw new InvalidBearerTokenException("Token has been revoked");
+            }
+            return jwtAuthenticationConverter.convert(jwt);
+        };
+    }
+
+    // Decoder is built once inside JwtTokenVerifier (shared with /auth/refresh)
     @Bean
-    public JwtDecoder jwtDecoder() {
-        NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withSecretKey(
-                getSecretKey()).macAlgorithm(SecurityUtil.JWT_ALGORITHM).build();
+    public JwtDecoder jwtDecoder(JwtTokenVerifier jwtTokenVerifier) {
         return token -> {
             try {
-                return jwtDecoder.decode(token);
+                return jwtTokenVerifier.decode(token);
             } catch (Exception e) {
                 System.out.println(">>> JWT error: " + e.getMessage());
                 throw e;
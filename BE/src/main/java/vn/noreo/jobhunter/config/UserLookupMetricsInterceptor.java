@@ -0,0 +1,30 @@
+package vn.noreo.jobhunter.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import vn.noreo.jobhunter.service.UserService;
+
+// Records how many times the user was loaded from the database per request
+// (user.lookups.per.request, expected <= 1)
+public class UserLookupMetricsInterceptor implements HandlerInterceptor {
+
+    private DistributionSummary lookupsPerRequest;
+
+    @Autowired
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.lookupsPerRequest = DistributionSummary.builder("user.lookups.per.request")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) throws Exception {
+        Object lookupCount = request.getAttribute(UserService.USER_LOOKUP_COUNT_ATTRIBUTE);
+        this.lookupsPerRequest.record(lookupCount instanceof Integer count ? count : 0);
+    }
+}
@@ -17,10 +17,13 @@ import org.springframework.web.bind.annotation.RestController;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import vn.noreo.jobhunter.domain.RefreshToken;
 import vn.noreo.jobhunter.domain.User;
 import vn.noreo.jobhunter.domain.request.ReqLoginDTO;
 import vn.noreo.jobhunter.domain.response.ResCreateUserDTO;
 import vn.noreo.jobhunter.domain.response.ResLoginDTO;
+import vn.noreo.jobhunter.service.RefreshTokenService;
+import vn.noreo.jobhunter.service.TokenRevocationService;
 import vn.noreo.jobhunter.service.UserService;
 import vn.noreo.jobhunter.util.SecurityUtil;
 import vn.noreo.jobhunter.util.annotation.ApiMessage;
@@ -37,6 +40,8 @@ public class AuthController {
     private final AuthenticationManagerBuilder authenticationManagerBuilder;
     private final SecurityUtil securityUtil;
     private final UserService userService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
 
     @Value("${jwt.refresh-token-validity-in-seconds}")
     private long refreshTokenExpiration;
@@ -44,10 +49,14 @@ public class AuthController {
     public AuthController(
             AuthenticationManagerBuilder authenticationManagerBuilder,
             SecurityUtil securityUtil,
-            UserService userService) {
+            UserService userService,
+            RefreshTokenService refreshTokenService,
+            TokenRevocationService tokenRevocationService) {
         this.authenticationManagerBuilder = authenticationManagerBuilder;
         this.securityUtil = securityUtil;
         this.userService = userService;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @PostMapping("/auth/login")
@@ -75,13 +84,16 @@ public class AuthController {
         }
 
         // Create access token
-        String accessToken = this.securityUtil.createAccessToken(authentication.getName(), resLoginDTO);
+        String accessToken = this.securityUtil.createAccessToken(authentication.getName(), resLoginDTO,
+                currentUser != null && currentUser.getCompany() != null ? currentUser.getCompany().getId() : null,
+                currentUser != null ? currentUser.getTokenVersion() : 0);
         resLoginDTO.setAccessToken(accessToken);
 
-        // Create refresh token
-        String refreshToken = this.securityUtil.createRefreshToken(loginRequest.getUsername(), resLoginDTO);
-        // Update refresh token to database
-        this.userService.updateUserRefreshToken(refreshToken, loginRequest.getUsername());
+        // Create refresh token (new login => new token family)
+        RefreshToken refreshTokenEntry = this.refreshTokenService
+                .handleIssueRefreshToken(loginRequest.getUsername(), null);
+        String refreshToken = this.securityUtil.createRefreshToken(loginRequest.getUsername(), resLoginDTO,
+                refreshTokenEntry);
         // Không lưu access token vào database vì trong db không có access token và ...
 
         // Set cookie
@@ -131,8 +143,11 @@ public class AuthController {
         Jwt decodedToken = this.securityUtil.checkValidRefreshToken(refreshToken);
         String email = decodedToken.getSubject();
 
-        // Check user exist by email & refresh token
-        User currentUser = this.userService.getUserByRefreshTokenAndEmail(refreshToken, email);
+        // Check refresh token in the store (by jti) and rotate it
+        RefreshToken newRefreshTokenEntry = this.refreshTokenService
+                .handleRotateRefreshToken(decodedToken.getId(), email);
+
+        User currentUser = this.userService.handleFetchUserByUsername(email);
         if (currentUser == null) {
             throw new IdInvalidException("Refresh token is invalid");
         }
@@ -147,13 +162,13 @@ public class AuthController {
         resLoginDTO.setUser(userLogin);
 
         // Create access token
-        String accessToken = this.securityUtil.createAccessToken(email, resLoginDTO);
+        String accessToken = this.securityUtil.createAccessToken(email, resLoginDTO,
+                currentUser.getCompany() != null ? currentUser.getCompany().getId() : null,
+                currentUser.getTokenVersion());
         resLoginDTO.setAccessToken(accessToken);
 
-        // Create refresh token
-        String newRefreshToken = this.securityUtil.createRefreshToken(email, resLoginDTO);
-        // Update refresh token to database
-        this.userService.updateUserRefreshToken(newRefreshToken, email);
+        // Create refresh token (same family as the old one)
+        String newRefreshToken = this.securityUtil.createRefreshToken(email, resLoginDTO, newRefreshTokenEntry);
         // Không lưu access token vào database vì trong db không có access token và ...
 
         // Set cookies
@@ -176,8 +191,10 @@ public class AuthController {
             throw new IdInvalidException("Email is null");
         }
 
-        // Update refresh token to null
-        this.userService.updateUserRefreshToken(null, email);
+        // Revoke refresh tokens of this user and the access token in use
+        this.refreshTokenService.handleRevokeAllByEmail(email);
+        SecurityUtil.getCurrentJwt().ifPresent(
+                jwt -> this.tokenRevocationService.handleRevokeToken(jwt.getId(), jwt.getExpiresAt()));
 
         // Xóa cookie
         ResponseCookie deleteCookie = ResponseCookie
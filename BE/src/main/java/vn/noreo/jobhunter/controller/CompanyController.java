@@ -2,6 +2,7 @@ package vn.noreo.jobhunter.controller;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,7 +12,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.turkraft.springfilter.boot.Filter;
 
@@ -20,7 +23,10 @@ import jakarta.validation.Valid;
 import vn.noreo.jobhunter.domain.Company;
 import vn.noreo.jobhunter.domain.response.ResultPaginationDTO;
 import vn.noreo.jobhunter.service.CompanyService;
+import vn.noreo.jobhunter.service.EntityCacheService;
+import vn.noreo.jobhunter.util.CountCacheKey;
 import vn.noreo.jobhunter.util.annotation.ApiMessage;
+import vn.noreo.jobhunter.util.constant.CountStrategyEnum;
 import vn.noreo.jobhunter.util.error.IdInvalidException;
 
 @Tag(name = "Company", description = "Company management APIs")
@@ -45,19 +51,29 @@ public class CompanyController {
     @ApiMessage("Fetch all companies")
     public ResponseEntity<ResultPaginationDTO> fetchAllCompanies(
             @Filter Specification<Company> specification,
-            Pageable pageable) {
+            Pageable pageable,
+            @RequestParam(name = "filter", required = false) String filter,
+            @RequestParam(name = "count", required = false) String count) throws IdInvalidException {
+        CountStrategyEnum countStrategy = CountStrategyEnum.fromValue(count);
         return ResponseEntity.status(HttpStatus.OK)
-                .body(this.companyService.handleFetchAllCompanies(specification, pageable));
+                .body(this.companyService.handleFetchAllCompanies(specification, pageable, countStrategy,
+                        CountCacheKey.of(Company.class, filter)));
     }
 
     @GetMapping("/companies/{id}")
     @ApiMessage("Fetch company by id")
-    public ResponseEntity<Company> fetchCompanyById(@PathVariable("id") long id) throws IdInvalidException {
-        Company company = this.companyService.handleFetchCompanyById(id);
-        if (company == null) {
+    public ResponseEntity<Company> fetchCompanyById(@PathVariable("id") long id, WebRequest webRequest)
+            throws IdInvalidException {
+        EntityCacheService.CachedEntity<Company> cachedCompany = this.companyService.handleFetchCachedCompanyById(id);
+        if (cachedCompany == null) {
             throw new IdInvalidException("Company with id " + id + " does not exist.");
         }
-        return ResponseEntity.ok().body(company);
+        // If-None-Match matches => 304, no body
+        if (webRequest.checkNotModified(cachedCompany.getETag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(cachedCompany.getETag()).build();
+        }
+        return ResponseEntity.ok().eTag(cachedCompany.getETag()).cacheControl(CacheControl.noCache())
+                .body(cachedCompany.getValue());
     }
 
     @PutMapping("/companies")
@@ -1,16 +1,28 @@
 package vn.noreo.jobhunter.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.turkraft.springfilter.boot.Filter;
 
@@ -19,10 +31,23 @@ import jakarta.validation.Valid;
 import vn.noreo.jobhunter.domain.Job;
 import vn.noreo.jobhunter.domain.response.ResultPaginationDTO;
 import vn.noreo.jobhunter.domain.response.job.ResCreateJobDTO;
+import vn.noreo.jobhunter.domain.response.job.ResImportJobDTO;
+import vn.noreo.jobhunter.domain.response.job.ResJobCounterDTO;
+import vn.noreo.jobhunter.domain.response.job.ResJobFacetsDTO;
 import vn.noreo.jobhunter.domain.response.job.ResUpdateJobDTO;
+import vn.noreo.jobhunter.service.EntityCacheService;
+import vn.noreo.jobhunter.service.ExportService;
+import vn.noreo.jobhunter.service.JobCounterService;
+import vn.noreo.jobhunter.service.JobImportService;
 import vn.noreo.jobhunter.service.JobService;
+import vn.noreo.jobhunter.service.PermissionMatrixService;
+import vn.noreo.jobhunter.util.CountCacheKey;
 import vn.noreo.jobhunter.util.annotation.ApiMessage;
+import vn.noreo.jobhunter.util.constant.CountStrategyEnum;
+import vn.noreo.jobhunter.util.constant.ExportFormatEnum;
+import vn.noreo.jobhunter.util.constant.LevelEnum;
 import vn.noreo.jobhunter.util.error.IdInvalidException;
+import vn.noreo.jobhunter.util.error.PermissionException;
 
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -33,9 +58,19 @@ import org.springframework.web.bind.annotation.GetMapping;
 public class JobController {
 
     private final JobService jobService;
+    private final JobCounterService jobCounterService;
+    private final JobImportService jobImportService;
+    private final ExportService exportService;
+    private final PermissionMatrixService permissionMatrixService;
 
-    public JobController(JobService jobService) {
+    public JobController(JobService jobService, JobCounterService jobCounterService,
+            JobImportService jobImportService, ExportService exportService,
+            PermissionMatrixService permissionMatrixService) {
         this.jobService = jobService;
+        this.jobCounterService = jobCounterService;
+        this.jobImportService = jobImportService;
+        this.exportService = exportService;
+        this.permissionMatrixService = permissionMatrixService;
     }
 
     @PostMapping("/jobs")
@@ -44,6 +79,21 @@ public class JobController {
         return ResponseEntity.ok().body(this.jobService.handleCreateJob(newJob));
     }
 
+    // Body streamed as NDJSON (default) or CSV (Content-Type: text/csv), errors
+    // are reported per line. The "Import jobs" permission is checked here: the
+    // path is excluded from PermissionInterceptor
+    @PostMapping("/jobs/import")
+    @ApiMessage("Import jobs")
+    public ResponseEntity<ResImportJobDTO> importJobs(InputStream inputStream,
+            @RequestHeader(name = HttpHeaders.CONTENT_TYPE, required = false) String contentType)
+            throws IOException, PermissionException {
+        if (!this.permissionMatrixService.isCurrentUserAllowed("POST", "/api/v1/jobs/import")) {
+            throw new PermissionException("You are not authorized to access this resource");
+        }
+        boolean csv = contentType != null && contentType.toLowerCase().contains("csv");
+        return ResponseEntity.ok().body(this.jobImportService.handleImportJobs(inputStream, csv));
+    }
+
     @PutMapping("/jobs")
     @ApiMessage("Update job")
     public ResponseEntity<ResUpdateJobDTO> updateJob(@Valid @RequestBody Job updatedJob) throws IdInvalidException {
@@ -67,19 +117,100 @@ public class JobController {
 
     @GetMapping("/jobs/{id}")
     @ApiMessage("Fetch job by id")
-    public ResponseEntity<Job> fetchJobById(@PathVariable("id") long id) throws IdInvalidException {
-        Optional<Job> currentJobOpt = this.jobService.handleFetchJobById(id);
-        if (!currentJobOpt.isPresent()) {
+    public ResponseEntity<Job> fetchJobById(@PathVariable("id") long id, WebRequest webRequest)
+            throws IdInvalidException {
+        EntityCacheService.CachedEntity<Job> cachedJob = this.jobService.handleFetchCachedJobById(id);
+        if (cachedJob == null) {
             throw new IdInvalidException("Job with id " + id + " not found");
         }
-        return ResponseEntity.ok().body(currentJobOpt.get());
+        this.jobCounterService.handleRecordView(id);
+
+        // If-None-Match matches => 304, no body
+        if (webRequest.checkNotModified(cachedJob.getETag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(cachedJob.getETag()).build();
+        }
+        return ResponseEntity.ok().eTag(cachedJob.getETag()).cacheControl(CacheControl.noCache())
+                .body(cachedJob.getValue());
+    }
+
+    // Same filter as /jobs, streamed (?format=ndjson|csv). The "Export jobs"
+    // permission is checked here: the path is excluded from PermissionInterceptor
+    @GetMapping("/jobs/export")
+    public ResponseEntity<StreamingResponseBody> exportJobs(@Filter Specification<Job> specification,
+            @RequestParam(name = "format", required = false) String format)
+            throws IdInvalidException, PermissionException {
+        if (!this.permissionMatrixService.isCurrentUserAllowed("GET", "/api/v1/jobs/export")) {
+            throw new PermissionException("You are not authorized to access this resource");
+        }
+        ExportFormatEnum exportFormat = ExportFormatEnum.fromValue(format);
+        StreamingResponseBody body = output -> this.exportService.handleExportJobs(specification, exportFormat,
+                output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, exportFormat.contentDisposition("jobs"))
+                .body(body);
+    }
+
+    // ?sort=views|applications, from the in-memory counters
+    @GetMapping("/jobs/top")
+    @ApiMessage("Fetch top jobs")
+    public ResponseEntity<List<ResJobCounterDTO>> fetchTopJobs(
+            @RequestParam(name = "sort", defaultValue = "views") String sort,
+            @RequestParam(name = "limit", defaultValue = "10") int limit) throws IdInvalidException {
+        return ResponseEntity.ok().body(this.jobCounterService.handleFetchTopJobs(sort, limit));
+    }
+
+    @GetMapping("/jobs/search")
+    @ApiMessage("Search jobs")
+    public ResponseEntity<ResultPaginationDTO> searchJobs(@RequestParam(name = "q") String query,
+            Pageable pageable) {
+        return ResponseEntity.ok().body(this.jobService.handleSearchJobs(query, pageable));
+    }
+
+    // Counts per level/location/company/skill of the active jobs matching the same
+    // criteria as /jobs
+    @GetMapping("/jobs/facets")
+    @ApiMessage("Fetch job facets")
+    public ResponseEntity<ResJobFacetsDTO> fetchJobFacets(@Filter Specification<Job> specification,
+            @RequestParam(name = "skills", required = false) List<Long> skillIds,
+            @RequestParam(name = "skillMatch", defaultValue = "any") String skillMatch,
+            @RequestParam(name = "level", required = false) LevelEnum level) {
+        return ResponseEntity.ok().body(this.jobService.handleFetchJobFacets(specification, skillIds,
+                "all".equalsIgnoreCase(skillMatch), level));
     }
 
     @GetMapping("/jobs")
     @ApiMessage("Fetch all jobs")
     public ResponseEntity<ResultPaginationDTO> fetchAllJobs(@Filter Specification<Job> specification,
-            Pageable pageable) {
-        return ResponseEntity.ok().body(this.jobService.handleFetchAllJobs(specification, pageable));
+            Pageable pageable,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "filter", required = false) String filter,
+            @RequestParam(name = "count", required = false) String count,
+            @RequestParam(name = "skills", required = false) List<Long> skillIds,
+            @RequestParam(name = "skillMatch", defaultValue = "any") String skillMatch,
+            @RequestParam(name = "level", required = false) LevelEnum level,
+            @RequestParam(name = "active", required = false) Boolean active) throws IdInvalidException {
+        CountStrategyEnum countStrategy = CountStrategyEnum.fromValue(count);
+
+        // ?skills=1,2&skillMatch=all|any (bitmap index, no join on job_skill), ?level=,
+        // ?active= (column predicates), combined with the filter
+        if ((skillIds != null && !skillIds.isEmpty()) || level != null || active != null) {
+            Specification<Job> indexSpec = this.jobService.buildIndexedJobSpecification(skillIds,
+                    "all".equalsIgnoreCase(skillMatch), active, level);
+            specification = indexSpec.and(specification);
+        }
+
+        // ?cursor= => keyset pagination
+        if (cursor != null) {
+            return ResponseEntity.ok().body(this.jobService.handleFetchJobsByCursor(specification, pageable, cursor));
+        }
+        // The indexed parameters narrow the Specification => part of the count key
+        List<Long> sortedSkillIds = skillIds == null ? List.of()
+                : skillIds.stream().distinct().sorted().collect(Collectors.toList());
+        String countCacheKey = CountCacheKey.of(Job.class, filter, sortedSkillIds,
+                "all".equalsIgnoreCase(skillMatch) ? "all" : "any", level, active);
+        return ResponseEntity.ok().body(this.jobService.handleFetchAllJobs(specification, pageable, countStrategy,
+                countCacheKey));
     }
 
 }
@@ -9,6 +9,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.turkraft.springfilter.boot.Filter;
@@ -18,7 +19,9 @@ import jakarta.validation.Valid;
 import vn.noreo.jobhunter.domain.Permission;
 import vn.noreo.jobhunter.domain.response.ResultPaginationDTO;
 import vn.noreo.jobhunter.service.PermissionService;
+import vn.noreo.jobhunter.util.CountCacheKey;
 import vn.noreo.jobhunter.util.annotation.ApiMessage;
+import vn.noreo.jobhunter.util.constant.CountStrategyEnum;
 import vn.noreo.jobhunter.util.error.IdInvalidException;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -64,8 +67,13 @@ public class PermissionController {
     @GetMapping("/permissions")
     @ApiMessage("Fetch all permissions")
     public ResponseEntity<ResultPaginationDTO> fetchAllPermissions(@Filter Specification<Permission> specification,
-            Pageable pageable) {
-        return ResponseEntity.ok().body(this.permissionService.handleFetchAllPermissions(specification, pageable));
+            Pageable pageable,
+            @RequestParam(name = "filter", required = false) String filter,
+            @RequestParam(name = "count", required = false) String count) throws IdInvalidException {
+        CountStrategyEnum countStrategy = CountStrategyEnum.fromValue(count);
+        return ResponseEntity.ok()
+                .body(this.permissionService.handleFetchAllPermissions(specification, pageable, countStrategy,
+                        CountCacheKey.of(Permission.class, filter)));
     }
 
     @DeleteMapping("/permissions/{id}")
@@ -1,6 +1,7 @@
 package vn.noreo.jobhunter.controller;
 
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.turkraft.springfilter.boot.Filter;
@@ -13,15 +14,25 @@ import vn.noreo.jobhunter.domain.Company;
 import vn.noreo.jobhunter.domain.Job;
 import vn.noreo.jobhunter.domain.Resume;
 import vn.noreo.jobhunter.domain.User;
+import vn.noreo.jobhunter.domain.request.ReqBulkResumeStatusDTO;
 import vn.noreo.jobhunter.domain.response.ResultPaginationDTO;
+import vn.noreo.jobhunter.domain.response.resume.ResBulkResumeStatusDTO;
 import vn.noreo.jobhunter.domain.response.resume.ResCreateResumeDTO;
 import vn.noreo.jobhunter.domain.response.resume.ResFetchResumeDTO;
 import vn.noreo.jobhunter.domain.response.resume.ResUpdateResumeDTO;
+import vn.noreo.jobhunter.service.ExportService;
+import vn.noreo.jobhunter.service.PermissionMatrixService;
 import vn.noreo.jobhunter.service.ResumeService;
+import vn.noreo.jobhunter.service.ResumeStatusService;
 import vn.noreo.jobhunter.service.UserService;
 import vn.noreo.jobhunter.util.SecurityUtil;
+import vn.noreo.jobhunter.util.CountCacheKey;
 import vn.noreo.jobhunter.util.annotation.ApiMessage;
+import vn.noreo.jobhunter.util.constant.CountStrategyEnum;
+import vn.noreo.jobhunter.util.constant.ExportFormatEnum;
+import vn.noreo.jobhunter.util.constant.ResumeStateEnum;
 import vn.noreo.jobhunter.util.error.IdInvalidException;
+import vn.noreo.jobhunter.util.error.PermissionException;
 
 import java.util.List;
 import java.util.Optional;
@@ -29,7 +40,9 @@ import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -37,6 +50,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Tag(name = "Resume", description = "Resume management APIs")
 @RestController
@@ -47,41 +61,59 @@ public class ResumeController {
     private final UserService userService;
     private final FilterSpecificationConverter filterSpecificationConverter;
     private final FilterBuilder filterBuilder;
+    private final ExportService exportService;
+    private final ResumeStatusService resumeStatusService;
+    private final PermissionMatrixService permissionMatrixService;
 
     public ResumeController(ResumeService resumeService, UserService userService,
-            FilterSpecificationConverter filterSpecificationConverter, FilterBuilder filterBuilder) {
+            FilterSpecificationConverter filterSpecificationConverter, FilterBuilder filterBuilder,
+            ExportService exportService, ResumeStatusService resumeStatusService,
+            PermissionMatrixService permissionMatrixService) {
         this.resumeService = resumeService;
         this.userService = userService;
         this.filterSpecificationConverter = filterSpecificationConverter;
         this.filterBuilder = filterBuilder;
+        this.exportService = exportService;
+        this.resumeStatusService = resumeStatusService;
+        this.permissionMatrixService = permissionMatrixService;
     }
 
     @PostMapping("/resumes")
     @ApiMessage("Create new resume")
     public ResponseEntity<ResCreateResumeDTO> createNewResume(@Valid @RequestBody Resume newResume)
             throws IdInvalidException {
-        // Check if the resume already exists for the user and job
-        boolean isIdExists = this.resumeService.checkResumeExistsByUserAndJob(newResume);
-        if (!isIdExists) {
-            throw new IdInvalidException("User or Job not found for the provided Resume");
-        }
-
-        // Create the new resume
-        return ResponseEntity.status(HttpStatus.CREATED).body(this.resumeService.handleCreateResume(newResume));
+        // Create the new resume (same application again => 200 with the existing one)
+        ResCreateResumeDTO resCreateResumeDTO = this.resumeService.handleCreateResume(newResume);
+        return ResponseEntity.status(resCreateResumeDTO.isDuplicate() ? HttpStatus.OK : HttpStatus.CREATED)
+                .body(resCreateResumeDTO);
     }
 
+    // Status change of one resume: same transition check, scope and history row
+    // as /resumes/status
     @PutMapping("/resumes")
     @ApiMessage("Update resume")
     public ResponseEntity<ResUpdateResumeDTO> updateResume(@RequestBody Resume updatedResume)
-            throws IdInvalidException {
-        Optional<Resume> currentResumeOpt = this.resumeService.handleFetchResumeById(updatedResume.getId());
-        if (currentResumeOpt.isEmpty()) {
-            throw new IdInvalidException("Resume with id " + updatedResume.getId() + " not found");
+            throws IdInvalidException, PermissionException {
+        Long companyId = this.fetchCurrentUserCompanyId();
+        if (companyId == null && !this.permissionMatrixService.isCurrentUserAllowed("PUT", "/api/v1/resumes")) {
+            throw new PermissionException("You are not authorized to access this resource");
         }
-        Resume currentResume = currentResumeOpt.get();
-        currentResume.setStatus(updatedResume.getStatus());
+        return ResponseEntity.ok().body(this.resumeStatusService.handleTransition(updatedResume.getId(),
+                updatedResume.getStatus(), companyId));
+    }
 
-        return ResponseEntity.ok().body(this.resumeService.handleUpdateResume(currentResume));
+    // Many status changes at once, result per id. HR: own company's resumes only;
+    // without a company (admin) the "Update status of resumes" permission is
+    // required (the path is excluded from PermissionInterceptor)
+    @PutMapping("/resumes/status")
+    @ApiMessage("Update status of resumes")
+    public ResponseEntity<ResBulkResumeStatusDTO> updateResumeStatuses(@RequestBody ReqBulkResumeStatusDTO request)
+            throws IdInvalidException, PermissionException {
+        Long companyId = this.fetchCurrentUserCompanyId();
+        if (companyId == null && !this.permissionMatrixService.isCurrentUserAllowed("PUT", "/api/v1/resumes/status")) {
+            throw new PermissionException("You are not authorized to access this resource");
+        }
+        return ResponseEntity.ok().body(this.resumeStatusService.handleBulkTransition(request, companyId));
     }
 
     @DeleteMapping("/resumes/{id}")
@@ -109,8 +141,53 @@ public class ResumeController {
     @ApiMessage("Fetch all resumes")
     public ResponseEntity<ResultPaginationDTO> fetchAllResumes(
             @Filter Specification<Resume> specification,
-            Pageable pageable) {
+            Pageable pageable,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "filter", required = false) String filter,
+            @RequestParam(name = "count", required = false) String count) throws IdInvalidException {
+        CountStrategyEnum countStrategy = CountStrategyEnum.fromValue(count);
+
+        Specification<Resume> finalSpec = this.buildCompanyResumeSpecification(specification);
+        // ?cursor= => keyset pagination
+        if (cursor != null) {
+            return ResponseEntity.ok().body(this.resumeService.handleFetchResumesByCursor(finalSpec, pageable, cursor));
+        }
+        // Scoped to the company's jobs => the company is part of the count key
+        return ResponseEntity.ok().body(this.resumeService.handleFetchAllResumes(finalSpec, pageable, countStrategy,
+                CountCacheKey.of(Resume.class, filter, this.fetchCurrentUserCompanyId())));
+    }
+
+    // Same scope and filter as /resumes, streamed (?format=ndjson|csv). The "Export
+    // resumes" permission is checked here: the path is excluded from
+    // PermissionInterceptor
+    @GetMapping("/resumes/export")
+    public ResponseEntity<StreamingResponseBody> exportResumes(
+            @Filter Specification<Resume> specification,
+            @RequestParam(name = "format", required = false) String format)
+            throws IdInvalidException, PermissionException {
+        if (!this.permissionMatrixService.isCurrentUserAllowed("GET", "/api/v1/resumes/export")) {
+            throw new PermissionException("You are not authorized to access this resource");
+        }
+        ExportFormatEnum exportFormat = ExportFormatEnum.fromValue(format);
+        Specification<Resume> finalSpec = this.buildCompanyResumeSpecification(specification);
+        StreamingResponseBody body = output -> this.exportService.handleExportResumes(finalSpec, exportFormat,
+                output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, exportFormat.contentDisposition("resumes"))
+                .body(body);
+    }
+
+    // Company of the current user read from the DB, not from the token claim (a
+    // token outlives a move to another company)
+    private Long fetchCurrentUserCompanyId() {
+        String email = SecurityUtil.getCurrentUserLogin().orElse("");
+        User currentUser = this.userService.handleFetchUserByUsername(email);
+        return currentUser != null && currentUser.getCompany() != null ? currentUser.getCompany().getId() : null;
+    }
 
+    // Resumes of the jobs of the current user's company, and the filter
+    private Specification<Resume> buildCompanyResumeSpecification(Specification<Resume> specification) {
         List<Long> jobIds = null;
         String email = SecurityUtil.getCurrentUserLogin().isPresent() == true ? SecurityUtil.getCurrentUserLogin().get()
                 : "";
@@ -127,14 +204,28 @@ public class ResumeController {
 
         Specification<Resume> jobInSpec = filterSpecificationConverter
                 .convert(filterBuilder.field("job").in(filterBuilder.input(jobIds)).get());
+        return jobInSpec.and(specification);
+    }
 
-        Specification<Resume> finalSpec = jobInSpec.and(specification);
-        return ResponseEntity.ok().body(this.resumeService.handleFetchAllResumes(finalSpec, pageable));
+    // Resumes received by the current HR user's company (?status=, ?cursor=)
+    @GetMapping("/resumes/inbox")
+    @ApiMessage("Fetch resume inbox of the company")
+    public ResponseEntity<ResultPaginationDTO> fetchResumeInbox(
+            Pageable pageable,
+            @RequestParam(name = "status", required = false) String status,
+            @RequestParam(name = "cursor", required = false) String cursor) throws IdInvalidException {
+        ResumeStateEnum resumeState = ResumeStateEnum.fromValue(status);
+        Long companyId = this.fetchCurrentUserCompanyId();
+        if (companyId == null) {
+            throw new IdInvalidException("Current user does not belong to a company");
+        }
+        return ResponseEntity.ok()
+                .body(this.resumeService.handleFetchCompanyInbox(companyId, resumeState, pageable, cursor));
     }
 
     @PostMapping("/resumes/by-user")
     @ApiMessage("Fetch resumes by user")
-    public ResponseEntity<ResultPaginationDTO> fetchResumesByUser(Pageable pageable) {
+    public ResponseEntity<ResultPaginationDTO> fetchResumesByUser(Pageable pageable) throws IdInvalidException {
         return ResponseEntity.ok().body(this.resumeService.handleFetchResumesByUser(pageable));
     }
 }
@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.turkraft.springfilter.boot.Filter;
@@ -21,7 +22,9 @@ import jakarta.validation.Valid;
 import vn.noreo.jobhunter.domain.Role;
 import vn.noreo.jobhunter.domain.response.ResultPaginationDTO;
 import vn.noreo.jobhunter.service.RoleService;
+import vn.noreo.jobhunter.util.CountCacheKey;
 import vn.noreo.jobhunter.util.annotation.ApiMessage;
+import vn.noreo.jobhunter.util.constant.CountStrategyEnum;
 import vn.noreo.jobhunter.util.error.IdInvalidException;
 import org.springframework.web.bind.annotation.PutMapping;
 
@@ -51,8 +54,12 @@ public class RoleController {
     @GetMapping("/roles")
     @ApiMessage("Fetch all roles")
     public ResponseEntity<ResultPaginationDTO> fetchAllRoles(@Filter Specification<Role> specification,
-            Pageable pageable) {
-        return ResponseEntity.ok().body(this.roleService.handleFetchAllRoles(specification, pageable));
+            Pageable pageable,
+            @RequestParam(name = "filter", required = false) String filter,
+            @RequestParam(name = "count", required = false) String count) throws IdInvalidException {
+        CountStrategyEnum countStrategy = CountStrategyEnum.fromValue(count);
+        return ResponseEntity.ok().body(this.roleService.handleFetchAllRoles(specification, pageable, countStrategy,
+                CountCacheKey.of(Role.class, filter)));
     }
 
     @GetMapping("/roles/{id}")
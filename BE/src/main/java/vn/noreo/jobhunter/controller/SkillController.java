@@ -1,6 +1,7 @@
 package vn.noreo.jobhunter.controller;
 
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.turkraft.springfilter.boot.Filter;
@@ -10,7 +11,9 @@ import jakarta.validation.Valid;
 import vn.noreo.jobhunter.domain.Skill;
 import vn.noreo.jobhunter.domain.response.ResultPaginationDTO;
 import vn.noreo.jobhunter.service.SkillService;
+import vn.noreo.jobhunter.util.CountCacheKey;
 import vn.noreo.jobhunter.util.annotation.ApiMessage;
+import vn.noreo.jobhunter.util.constant.CountStrategyEnum;
 import vn.noreo.jobhunter.util.error.IdInvalidException;
 
 import org.springframework.data.domain.Pageable;
@@ -68,9 +71,13 @@ public class SkillController {
     @GetMapping("/skills")
     @ApiMessage("Fetch all skills")
     public ResponseEntity<ResultPaginationDTO> getAllSkills(
-            @Filter Specification<Skill> specification, Pageable pageable) {
+            @Filter Specification<Skill> specification, Pageable pageable,
+            @RequestParam(name = "filter", required = false) String filter,
+            @RequestParam(name = "count", required = false) String count) throws IdInvalidException {
+        CountStrategyEnum countStrategy = CountStrategyEnum.fromValue(count);
         return ResponseEntity.status(HttpStatus.OK)
-                .body(this.skillService.handleFetchAllSkills(specification, pageable));
+                .body(this.skillService.handleFetchAllSkills(specification, pageable, countStrategy,
+                        CountCacheKey.of(Skill.class, filter)));
     }
 
     @DeleteMapping("/skills/{id}")
@@ -11,21 +11,29 @@ import vn.noreo.jobhunter.domain.response.ResCreateUserDTO;
 import vn.noreo.jobhunter.domain.response.ResFetchUserDTO;
 import vn.noreo.jobhunter.domain.response.ResUpdateUserDTO;
 import vn.noreo.jobhunter.domain.response.ResultPaginationDTO;
+import vn.noreo.jobhunter.service.ExportService;
 import vn.noreo.jobhunter.service.UserService;
+import vn.noreo.jobhunter.util.CountCacheKey;
 import vn.noreo.jobhunter.util.annotation.ApiMessage;
+import vn.noreo.jobhunter.util.constant.CountStrategyEnum;
+import vn.noreo.jobhunter.util.constant.ExportFormatEnum;
 import vn.noreo.jobhunter.util.error.IdInvalidException;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Tag(name = "User", description = "User management APIs")
 @RestController
@@ -33,9 +41,11 @@ import org.springframework.web.bind.annotation.PutMapping;
 public class UserController {
 
     private final UserService userService;
+    private final ExportService exportService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, ExportService exportService) {
         this.userService = userService;
+        this.exportService = exportService;
     }
 
     @PostMapping("/users")
@@ -71,12 +81,37 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.OK).body(this.userService.convertToResFetchUserDTO(currentUser));
     }
 
+    // Same filter as /users, streamed (?format=ndjson|csv)
+    @GetMapping("/users/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @Filter Specification<User> specification,
+            @RequestParam(name = "format", required = false) String format) throws IdInvalidException {
+        ExportFormatEnum exportFormat = ExportFormatEnum.fromValue(format);
+        StreamingResponseBody body = output -> this.exportService.handleExportUsers(specification, exportFormat,
+                output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, exportFormat.contentDisposition("users"))
+                .body(body);
+    }
+
     @GetMapping("/users")
     @ApiMessage("Fetch all users")
     public ResponseEntity<ResultPaginationDTO> fetchAllUser(
             @Filter Specification<User> specification,
-            Pageable pageable) {
-        return ResponseEntity.status(HttpStatus.OK).body(this.userService.handleFetchAllUsers(specification, pageable));
+            Pageable pageable,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "filter", required = false) String filter,
+            @RequestParam(name = "count", required = false) String count) throws IdInvalidException {
+        CountStrategyEnum countStrategy = CountStrategyEnum.fromValue(count);
+        // ?cursor= => keyset pagination
+        if (cursor != null) {
+            return ResponseEntity.status(HttpStatus.OK)
+                    .body(this.userService.handleFetchUsersByCursor(specification, pageable, cursor));
+        }
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(this.userService.handleFetchAllUsers(specification, pageable, countStrategy,
+                        CountCacheKey.of(User.class, filter)));
     }
 
     @PutMapping("/users")
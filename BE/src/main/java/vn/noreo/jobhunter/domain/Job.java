@@ -14,6 +14,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
@@ -29,7 +30,12 @@ import vn.noreo.jobhunter.util.SecurityUtil;
 import vn.noreo.jobhunter.util.constant.LevelEnum;
 
 @Entity
-@Table(name = "jobs")
+// (active, endDate): expired active jobs lookup of JobExpiryService
+// (updatedAt): default listing sort (sort=updatedAt,desc), no filesort
+@Table(name = "jobs", indexes = {
+        @Index(name = "idx_jobs_active_end_date", columnList = "active, endDate"),
+        @Index(name = "idx_jobs_updated_at", columnList = "updatedAt")
+})
 @Getter
 @Setter
 public class Job {
@@ -75,17 +81,13 @@ public class Job {
 
     @PrePersist
     public void handleBeforeCreate() {
-        this.createdBy = SecurityUtil.getCurrentUserLogin().isPresent() == true
-                ? SecurityUtil.getCurrentUserLogin().get()
-                : "";
+        this.createdBy = SecurityUtil.getCurrentUserLogin().orElse("");
         this.createdAt = Instant.now();
     }
 
     @PreUpdate
     public void handleBeforeUpdate() {
-        this.updatedBy = SecurityUtil.getCurrentUserLogin().isPresent() == true
-                ? SecurityUtil.getCurrentUserLogin().get()
-                : "";
+        this.updatedBy = SecurityUtil.getCurrentUserLogin().orElse("");
         this.updatedAt = Instant.now();
     }
 }
@@ -0,0 +1,26 @@
+package vn.noreo.jobhunter.domain;
+
+import java.time.Instant;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+// Views/applications per job, kept apart from the jobs table: counters are
+// written in batches by JobCounterService, never on the request path
+@Entity
+@Table(name = "job_counters")
+@Getter
+@Setter
+public class JobCounter {
+
+    @Id
+    private long jobId;
+
+    private long views;
+    private long applications;
+
+    private Instant updatedAt;
+}
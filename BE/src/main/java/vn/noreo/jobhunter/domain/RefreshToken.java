@@ -0,0 +1,49 @@
+package vn.noreo.jobhunter.domain;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+// One row per issued refresh token, looked up by its jti (instead of comparing
+// the whole JWT stored in users). Tokens rotated from the same login share a
+// familyId so a reused token can revoke the whole family.
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "uk_refresh_tokens_jti", columnList = "jti", unique = true),
+        @Index(name = "idx_refresh_tokens_family_id", columnList = "family_id"),
+        @Index(name = "idx_refresh_tokens_email", columnList = "email")
+})
+@Getter
+@Setter
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Column(name = "jti", length = 36, nullable = false)
+    private String jti;
+
+    @Column(name = "family_id", length = 36, nullable = false)
+    private String familyId;
+
+    @Column(name = "email", nullable = false)
+    private String email;
+
+    private Instant expiresAt;
+
+    // Set when the token has been exchanged for a new one
+    private Instant usedAt;
+
+    private boolean revoked;
+
+    private Instant createdAt;
+}
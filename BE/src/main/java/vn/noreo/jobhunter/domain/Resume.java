@@ -2,17 +2,21 @@ package vn.noreo.jobhunter.domain;
 
 import java.time.Instant;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Getter;
 import lombok.Setter;
@@ -20,7 +24,15 @@ import vn.noreo.jobhunter.util.SecurityUtil;
 import vn.noreo.jobhunter.util.constant.ResumeStateEnum;
 
 @Entity
-@Table(name = "resumes")
+// (companyId, status, createdAt): HR inbox, filter and keyset order in one index
+// (companyId, createdAt, id): all-status inbox, keyset order without a filesort
+// (user_id, job_id) unique: one application per candidate and job
+@Table(name = "resumes", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_resumes_user_job", columnNames = { "user_id", "job_id" })
+}, indexes = {
+        @Index(name = "idx_resumes_company_status_created_at", columnList = "companyId, status, createdAt"),
+        @Index(name = "idx_resumes_company_created_at_id", columnList = "companyId, createdAt, id")
+})
 @Getter
 @Setter
 public class Resume {
@@ -51,19 +63,19 @@ public class Resume {
     @JoinColumn(name = "job_id")
     private Job job;
 
+    // Denormalized job.company.id, set by ResumeService, kept in sync by JobService
+    @JsonIgnore
+    private Long companyId;
+
     @PrePersist
     public void handleBeforeCreate() {
-        this.createdBy = SecurityUtil.getCurrentUserLogin().isPresent() == true
-                ? SecurityUtil.getCurrentUserLogin().get()
-                : "";
+        this.createdBy = SecurityUtil.getCurrentUserLogin().orElse("");
         this.createdAt = Instant.now();
     }
 
     @PreUpdate
     public void handleBeforeUpdate() {
-        this.updatedBy = SecurityUtil.getCurrentUserLogin().isPresent() == true
-                ? SecurityUtil.getCurrentUserLogin().get()
-                : "";
+        this.updatedBy = SecurityUtil.getCurrentUserLogin().orElse("");
         this.updatedAt = Instant.now();
     }
 }
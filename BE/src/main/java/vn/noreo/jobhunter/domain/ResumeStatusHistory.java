@@ -0,0 +1,41 @@
+package vn.noreo.jobhunter.domain;
+
+import java.time.Instant;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+import vn.noreo.jobhunter.util.constant.ResumeStateEnum;
+
+// One row per status change of a resume, appended in JDBC batches by
+// ResumeStatusService (never updated)
+@Entity
+@Table(name = "resume_status_history", indexes = {
+        @Index(name = "idx_resume_status_history_resume", columnList = "resumeId, changedAt")
+})
+@Getter
+@Setter
+public class ResumeStatusHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    private long resumeId;
+
+    @Enumerated(EnumType.STRING)
+    private ResumeStateEnum fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    private ResumeStateEnum toStatus;
+
+    private Instant changedAt;
+    private String changedBy;
+}
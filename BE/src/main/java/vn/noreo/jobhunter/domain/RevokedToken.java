@@ -0,0 +1,36 @@
+package vn.noreo.jobhunter.domain;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+// Access token revoked before its expiry (logout). Kept only until expiresAt,
+// after that the token is rejected by the decoder anyway
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "uk_revoked_tokens_jti", columnList = "jti", unique = true),
+        @Index(name = "idx_revoked_tokens_expires_at", columnList = "expiresAt")
+})
+@Getter
+@Setter
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Column(name = "jti", length = 36, nullable = false)
+    private String jti;
+
+    private Instant expiresAt;
+
+    private Instant revokedAt;
+}
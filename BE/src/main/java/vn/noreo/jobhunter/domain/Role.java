@@ -38,6 +38,11 @@ public class Role {
 
     private String description;
     private boolean active;
+
+    // Bumped whenever the permission set changes; carried in access tokens so
+    // stale tokens can be rejected without a DB lookup
+    private long permissionVersion;
+
     private Instant createdAt;
     private String createdBy;
     private Instant updatedAt;
@@ -54,17 +59,13 @@ public class Role {
 
     @PrePersist
     public void handleBeforeCreate() {
-        this.createdBy = SecurityUtil.getCurrentUserLogin().isPresent() == true
-                ? SecurityUtil.getCurrentUserLogin().get()
-                : "";
+        this.createdBy = SecurityUtil.getCurrentUserLogin().orElse("");
         this.createdAt = Instant.now();
     }
 
     @PreUpdate
     public void handleBeforeUpdate() {
-        this.updatedBy = SecurityUtil.getCurrentUserLogin().isPresent() == true
-                ? SecurityUtil.getCurrentUserLogin().get()
-                : "";
+        this.updatedBy = SecurityUtil.getCurrentUserLogin().orElse("");
         this.updatedAt = Instant.now();
     }
 }
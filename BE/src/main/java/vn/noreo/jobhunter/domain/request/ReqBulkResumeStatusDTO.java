@@ -0,0 +1,22 @@
+package vn.noreo.jobhunter.domain.request;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+import vn.noreo.jobhunter.util.constant.ResumeStateEnum;
+
+// Chuyển trạng thái nhiều hồ sơ một lần: mỗi phần tử là id hồ sơ và trạng thái mới
+@Getter
+@Setter
+public class ReqBulkResumeStatusDTO {
+
+    private List<Item> items;
+
+    @Getter
+    @Setter
+    public static class Item {
+        private long id;
+        private ResumeStateEnum status;
+    }
+}
@@ -0,0 +1,26 @@
+package vn.noreo.jobhunter.domain.request;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+
+// Một dòng của file import job (NDJSON: 1 object/dòng, CSV: cột cùng tên,
+// skillIds cách nhau bởi ";")
+@Getter
+@Setter
+public class ReqImportJobDTO {
+
+    private String name;
+    private String location;
+    private double salary;
+    private int quantity;
+    private String level;
+    private String description;
+    private Instant startDate;
+    private Instant endDate;
+    private boolean active = true;
+    private Long companyId;
+    private List<Long> skillIds;
+}
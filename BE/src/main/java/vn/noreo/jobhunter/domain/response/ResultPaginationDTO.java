@@ -27,5 +27,13 @@ public class ResultPaginationDTO {
 
         // Tổng số bản ghi trong cơ sở dữ liệu
         private long total;
+
+        // Còn trang sau hay không (luôn có, kể cả khi không đếm tổng: ?count=none)
+        private boolean hasNext;
+
+        // Chế độ cursor (?cursor=): cursor của trang sau / trang trước (null nếu không
+        // còn trang). Không đếm tổng => page, pages, total = 0
+        private String next;
+        private String prev;
     }
 }
@@ -0,0 +1,27 @@
+package vn.noreo.jobhunter.domain.response.job;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ResImportJobDTO {
+
+    private long total;
+    private long imported;
+    private long failed;
+    // Lỗi theo từng dòng (giới hạn số lượng trả về)
+    private List<RowError> errors = new ArrayList<>();
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,15 @@
+package vn.noreo.jobhunter.domain.response.job;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class ResJobCounterDTO {
+
+    private long jobId;
+    private long views;
+    private long applications;
+}
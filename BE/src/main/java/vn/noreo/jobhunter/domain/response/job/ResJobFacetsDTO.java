@@ -0,0 +1,45 @@
+package vn.noreo.jobhunter.domain.response.job;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import vn.noreo.jobhunter.util.constant.LevelEnum;
+
+// Số lượng job đang active theo từng level/địa điểm/công ty/kỹ năng của tập kết quả
+@Getter
+@Setter
+public class ResJobFacetsDTO {
+
+    private long total;
+    private List<LevelFacet> levels;
+    private List<ValueFacet> locations;
+    private List<NamedFacet> companies;
+    private List<NamedFacet> skills;
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    public static class LevelFacet {
+        private LevelEnum level;
+        private long count;
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    public static class ValueFacet {
+        private String value;
+        private long count;
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    public static class NamedFacet {
+        private long id;
+        private String name;
+        private long count;
+    }
+}
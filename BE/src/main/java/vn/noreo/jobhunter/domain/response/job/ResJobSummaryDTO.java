@@ -0,0 +1,48 @@
+package vn.noreo.jobhunter.domain.response.job;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import vn.noreo.jobhunter.util.constant.LevelEnum;
+
+// Một dòng trong danh sách job: không có description (chỉ trả về ở GET /jobs/{id})
+@Getter
+@Setter
+public class ResJobSummaryDTO {
+
+    private long id;
+    private String name;
+    private String location;
+    private double salary;
+    private int quantity;
+    private LevelEnum level;
+    private Instant startDate;
+    private Instant endDate;
+    private boolean active;
+    private Instant createdAt;
+    private Instant updatedAt;
+    private String createdBy;
+    private String updatedBy;
+    private CompanyJob company;
+    private List<SkillJob> skills;
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    public static class CompanyJob {
+        private long id;
+        private String name;
+        private String logo;
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    public static class SkillJob {
+        private long id;
+        private String name;
+    }
+}
@@ -0,0 +1,31 @@
+package vn.noreo.jobhunter.domain.response.resume;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import vn.noreo.jobhunter.util.constant.ResumeStateEnum;
+
+@Getter
+@Setter
+public class ResBulkResumeStatusDTO {
+
+    private long total;
+    private long updated;
+    private long failed;
+    // Kết quả theo từng id, cùng thứ tự với request
+    private List<ItemResult> results = new ArrayList<>();
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    public static class ItemResult {
+        private long id;
+        private ResumeStateEnum fromStatus;
+        private ResumeStateEnum toStatus;
+        private boolean success;
+        private String message;
+    }
+}
@@ -11,4 +11,6 @@ public class ResCreateResumeDTO {
     private long id;
     private Instant createdAt;
     private String createdBy;
+    // true => hồ sơ cho (user, job) này đã tồn tại, trả về hồ sơ cũ
+    private boolean duplicate;
 }
@@ -0,0 +1,25 @@
+package vn.noreo.jobhunter.domain.response.resume;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import vn.noreo.jobhunter.util.constant.ResumeStateEnum;
+
+// Hộp thư ứng tuyển của công ty: số hồ sơ theo từng trạng thái và trang hồ sơ hiện tại
+@Getter
+@Setter
+public class ResResumeInboxDTO {
+
+    private List<StatusCount> statuses;
+    private List<ResFetchResumeDTO> resumes;
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    public static class StatusCount {
+        private ResumeStateEnum status;
+        private long count;
+    }
+}
@@ -1,7 +1,10 @@
 package vn.noreo.jobhunter.repository;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import vn.noreo.jobhunter.domain.Company;
@@ -9,4 +12,7 @@ import vn.noreo.jobhunter.domain.Company;
 @Repository
 public interface CompanyRepository extends JpaRepository<Company, Long>, JpaSpecificationExecutor<Company> {
 
+    // [id, name] (lookup map of the job import)
+    @Query("select c.id, c.name from Company c")
+    List<Object[]> findAllIdAndName();
 }
@@ -0,0 +1,34 @@
+package vn.noreo.jobhunter.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// Counter deltas as one JDBC batch of MySQL upserts (no entity loaded, no
+// read-modify-write): [jobId, views delta, applications delta]
+@Repository
+public class JobCounterBatchRepository {
+
+    private static final String UPSERT_SQL = "insert into job_counters (job_id, views, applications, updated_at)"
+            + " values (?, ?, ?, ?) on duplicate key update views = views + values(views),"
+            + " applications = applications + values(applications), updated_at = values(updated_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JobCounterBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void addDeltas(List<long[]> deltas, Instant now) {
+        Timestamp updatedAt = Timestamp.from(now);
+        this.jdbcTemplate.batchUpdate(UPSERT_SQL, deltas, deltas.size(), (statement, delta) -> {
+            statement.setLong(1, delta[0]);
+            statement.setLong(2, delta[1]);
+            statement.setLong(3, delta[2]);
+            statement.setTimestamp(4, updatedAt);
+        });
+    }
+}
@@ -0,0 +1,10 @@
+package vn.noreo.jobhunter.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import vn.noreo.jobhunter.domain.JobCounter;
+
+@Repository
+public interface JobCounterRepository extends JpaRepository<JobCounter, Long> {
+}
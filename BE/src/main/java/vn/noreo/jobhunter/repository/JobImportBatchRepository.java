@@ -0,0 +1,96 @@
+package vn.noreo.jobhunter.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import vn.noreo.jobhunter.domain.Job;
+import vn.noreo.jobhunter.domain.Skill;
+
+// Plain JDBC batches for the bulk job import: one round trip per batch instead
+// of one persist (and IDENTITY select) per job. Runs in the caller's transaction
+@Repository
+public class JobImportBatchRepository {
+
+    private static final String INSERT_JOB_SQL = "insert into jobs (name, location, salary, quantity, level,"
+            + " description, start_date, end_date, active, company_id, created_at, created_by)"
+            + " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_JOB_SKILL_SQL = "insert into job_skill (job_id, skill_id) values (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JobImportBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Sets the generated ids on the jobs, then inserts their job_skill rows
+    public void insertJobs(List<Job> jobs) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        this.jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_JOB_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        Job job = jobs.get(i);
+                        statement.setString(1, job.getName());
+                        statement.setString(2, job.getLocation());
+                        statement.setDouble(3, job.getSalary());
+                        statement.setInt(4, job.getQuantity());
+                        statement.setString(5, job.getLevel() != null ? job.getLevel().name() : null);
+                        statement.setString(6, job.getDescription());
+                        statement.setTimestamp(7, toTimestamp(job.getStartDate()));
+                        statement.setTimestamp(8, toTimestamp(job.getEndDate()));
+                        statement.setBoolean(9, job.isActive());
+                        if (job.getCompany() != null) {
+                            statement.setLong(10, job.getCompany().getId());
+                        } else {
+                            statement.setNull(10, Types.BIGINT);
+                        }
+                        statement.setTimestamp(11, toTimestamp(job.getCreatedAt()));
+                        statement.setString(12, job.getCreatedBy());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return jobs.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < jobs.size(); i++) {
+            jobs.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+        }
+
+        List<long[]> jobSkills = new ArrayList<>();
+        for (Job job : jobs) {
+            if (job.getSkills() != null) {
+                for (Skill skill : job.getSkills()) {
+                    jobSkills.add(new long[] { job.getId(), skill.getId() });
+                }
+            }
+        }
+        if (!jobSkills.isEmpty()) {
+            this.jdbcTemplate.batchUpdate(INSERT_JOB_SKILL_SQL, jobSkills, jobSkills.size(), (statement, row) -> {
+                statement.setLong(1, row[0]);
+                statement.setLong(2, row[1]);
+            });
+        }
+    }
+
+    private static Timestamp toTimestamp(Instant instant) {
+        return instant != null ? Timestamp.from(instant) : null;
+    }
+}
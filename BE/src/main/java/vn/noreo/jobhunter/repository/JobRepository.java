@@ -1,15 +1,106 @@
 package vn.noreo.jobhunter.repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import vn.noreo.jobhunter.domain.Job;
 import vn.noreo.jobhunter.domain.Skill;
+import vn.noreo.jobhunter.util.constant.LevelEnum;
 
 @Repository
 public interface JobRepository extends JpaRepository<Job, Long>, JpaSpecificationExecutor<Job> {
     List<Job> findBySkillsIn(List<Skill> listSkills);
+
+    List<Job> findByCompanyId(long companyId);
+
+    // Rows of job_skill as [jobId, skillId] (bitmap index build)
+    @Query("select j.id, s.id from Job j join j.skills s")
+    List<Object[]> findAllJobSkillPairs();
+
+    // [jobId, active, level, companyId, location] (bitmap index build)
+    @Query("select j.id, j.active, j.level, c.id, j.location from Job j left join j.company c")
+    List<Object[]> findAllIndexedAttributes();
+
+    // Batches for the search index rebuild (Slice => no count query)
+    @Query("select j from Job j left join fetch j.company")
+    Slice<Job> findAllWithCompany(Pageable pageable);
+
+    // Expiry: ids only, served by idx_jobs_active_end_date
+    @Query("select j.id from Job j where j.active = true and j.endDate < :now order by j.endDate")
+    List<Long> findExpiredActiveJobIds(@Param("now") Instant now, Pageable pageable);
+
+    // Top-N ranking: which of these jobs are still open (active, not past endDate)
+    @Query("select j.id from Job j where j.id in :ids and j.active = true"
+            + " and (j.endDate is null or j.endDate >= :now)")
+    List<Long> findOpenIdsByIdIn(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    // Bulk update, no entity loaded (=> no @PreUpdate, updatedAt set here)
+    @Transactional
+    @Modifying
+    @Query("update Job j set j.active = false, j.updatedAt = :now, j.updatedBy = 'system'"
+            + " where j.id in :ids and j.active = true")
+    int deactivateByIdIn(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    // Phase 2 of the job listing: summary columns of a whole page, description
+    // never read
+    @Query("select j.id as id, j.name as name, j.location as location, j.salary as salary,"
+            + " j.quantity as quantity, j.level as level, j.startDate as startDate, j.endDate as endDate,"
+            + " j.active as active, j.createdAt as createdAt, j.updatedAt as updatedAt,"
+            + " j.createdBy as createdBy, j.updatedBy as updatedBy,"
+            + " c.id as companyId, c.name as companyName, c.logo as companyLogo"
+            + " from Job j left join j.company c where j.id in :ids")
+    List<JobSummaryView> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // [jobId, skillId, skillName] of a page of jobs
+    @Query("select j.id, s.id, s.name from Job j join j.skills s where j.id in :ids")
+    List<Object[]> findSkillNamesByJobIdIn(@Param("ids") Collection<Long> ids);
+
+    // Job with company and skills (detail page, new-job emails)
+    @Query("select distinct j from Job j left join fetch j.company left join fetch j.skills where j.id in :ids")
+    List<Job> findAllWithCompanyAndSkillsByIdIn(@Param("ids") Collection<Long> ids);
+
+    interface JobSummaryView {
+        long getId();
+
+        String getName();
+
+        String getLocation();
+
+        double getSalary();
+
+        int getQuantity();
+
+        LevelEnum getLevel();
+
+        Instant getStartDate();
+
+        Instant getEndDate();
+
+        boolean isActive();
+
+        Instant getCreatedAt();
+
+        Instant getUpdatedAt();
+
+        String getCreatedBy();
+
+        String getUpdatedBy();
+
+        Long getCompanyId();
+
+        String getCompanyName();
+
+        String getCompanyLogo();
+    }
 }
@@ -0,0 +1,203 @@
+package vn.noreo.jobhunter.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import vn.noreo.jobhunter.util.KeysetCursor;
+import vn.noreo.jobhunter.util.SortableProperties;
+import vn.noreo.jobhunter.util.error.IdInvalidException;
+
+// Phase 1 of a two-phase listing: page over the ids only (same Specification and
+// Sort as findAll(spec, pageable)), then the caller loads that page with fetch
+// joins. No entity is materialized here => no eager association is loaded row by
+// row
+@Repository
+public class PageIdQueryExecutor {
+
+    private final EntityManager entityManager;
+    private final byte[] cursorKey;
+
+    public PageIdQueryExecutor(EntityManager entityManager,
+            @Value("${pagination.cursor-secret:${jwt.KEY.base64-secret}}") String cursorSecret) {
+        this.entityManager = entityManager;
+        this.cursorKey = cursorSecret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Up to pageSize + 1 ids: the extra id only tells whether there is a next page
+    public <T> List<Long> findPageIds(Class<T> domainClass, Specification<T> specification, Pageable pageable) {
+        CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(domainClass);
+        Predicate predicate = specification != null ? specification.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        // Sort keys are selected too: required by "select distinct ... order by"
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get("id"));
+        List<Order> orders = QueryUtils.toOrders(pageable.getSort(), root, cb);
+        orders.forEach(order -> selections.add(order.getExpression()));
+        query.multiselect(selections);
+        query.orderBy(orders);
+
+        TypedQuery<Tuple> typedQuery = this.entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize() + 1);
+        }
+
+        // A join on a collection (filter on skills...) may repeat an id
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Tuple tuple : typedQuery.getResultList()) {
+            ids.add(tuple.get(0, Long.class));
+        }
+        return new ArrayList<>(ids);
+    }
+
+    public <T> long count(Class<T> domainClass, Specification<T> specification) {
+        CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(domainClass);
+        Predicate predicate = specification != null ? specification.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(query.isDistinct() ? cb.countDistinct(root) : cb.count(root));
+        // Specification may add an order, useless for a count
+        query.orderBy(List.of());
+        return this.entityManager.createQuery(query).getSingleResult();
+    }
+
+    // Keyset (seek) pagination: "where (key, id) > (last key, last id) order by
+    // key, id limit size + 1", no offset and no count => page N costs the same as
+    // page 1. Only the first sort order is used, id breaks ties. Nulls are
+    // treated as the smallest key (MySQL ordering). encodedCursor: null/empty =
+    // first page, otherwise a signed cursor issued for the same sort
+    public <T> KeysetIds findKeysetIds(Class<T> domainClass, Specification<T> specification, Sort sort, int size,
+            String encodedCursor) throws IdInvalidException {
+        SortableProperties.check(domainClass, sort);
+        Sort.Order order = sort.isSorted() ? sort.iterator().next() : Sort.Order.asc("id");
+        KeysetCursor cursor = encodedCursor == null || encodedCursor.isEmpty() ? null
+                : KeysetCursor.decode(encodedCursor, this.cursorKey);
+        if (cursor != null && (!cursor.getProperty().equals(order.getProperty())
+                || cursor.getDirection() != order.getDirection())) {
+            throw new IdInvalidException("Cursor does not match the sort " + order.getProperty());
+        }
+        boolean backward = cursor != null && cursor.isBackward();
+        // Going backward = scanning in the opposite direction, then reversing
+        boolean scanAscending = order.isAscending() != backward;
+
+        CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(domainClass);
+        Path<Long> idPath = root.get("id");
+        Path<Comparable<Object>> keyPath = path(root, order.getProperty());
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate specPredicate = specification != null ? specification.toPredicate(root, query, cb) : null;
+        if (specPredicate != null) {
+            predicates.add(specPredicate);
+        }
+        if (cursor != null) {
+            predicates.add(this.seekPredicate(cb, keyPath, idPath, cursor, scanAscending));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.multiselect(idPath, keyPath);
+        query.orderBy(scanAscending ? cb.asc(keyPath) : cb.desc(keyPath),
+                scanAscending ? cb.asc(idPath) : cb.desc(idPath));
+
+        List<Tuple> rows = new ArrayList<>(this.entityManager.createQuery(query)
+                .setMaxResults(size + 1)
+                .getResultList());
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = new ArrayList<>(rows.subList(0, size));
+        }
+        if (backward) {
+            Collections.reverse(rows);
+        }
+
+        Set<Long> ids = new LinkedHashSet<>();
+        rows.forEach(row -> ids.add(row.get(0, Long.class)));
+
+        String next = null;
+        String prev = null;
+        if (!rows.isEmpty()) {
+            Tuple first = rows.get(0);
+            Tuple last = rows.get(rows.size() - 1);
+            if (backward ? cursor != null : hasMore) {
+                next = new KeysetCursor(false, order.getProperty(), order.getDirection(), last.get(0, Long.class),
+                        last.get(1)).encode(this.cursorKey);
+            }
+            if (backward ? hasMore : cursor != null) {
+                prev = new KeysetCursor(true, order.getProperty(), order.getDirection(), first.get(0, Long.class),
+                        first.get(1)).encode(this.cursorKey);
+            }
+        }
+        return new KeysetIds(new ArrayList<>(ids), next, prev);
+    }
+
+    // Rows strictly after the cursor row in scan order
+    private Predicate seekPredicate(CriteriaBuilder cb, Path<Comparable<Object>> keyPath, Path<Long> idPath,
+            KeysetCursor cursor, boolean scanAscending) throws IdInvalidException {
+        long lastId = cursor.getId();
+        Predicate idAfter = scanAscending ? cb.greaterThan(idPath, lastId) : cb.lessThan(idPath, lastId);
+        if (cursor.getProperty().equals("id")) {
+            return idAfter;
+        }
+
+        @SuppressWarnings("unchecked")
+        Comparable<Object> lastKey = (Comparable<Object>) cursor.getTypedValue(keyPath.getJavaType());
+        if (lastKey == null) {
+            // Nulls first: ascending => the rest of the nulls then every non-null key
+            return scanAscending
+                    ? cb.or(cb.and(cb.isNull(keyPath), idAfter), cb.isNotNull(keyPath))
+                    : cb.and(cb.isNull(keyPath), idAfter);
+        }
+        Predicate sameKey = cb.and(cb.equal(keyPath, lastKey), idAfter);
+        return scanAscending
+                ? cb.or(cb.greaterThan(keyPath, lastKey), sameKey)
+                : cb.or(cb.lessThan(keyPath, lastKey), sameKey, cb.isNull(keyPath));
+    }
+
+    // Whitelisted scalar property (SortableProperties) => root.get(property)
+    private static <T, X> Path<X> path(Root<T> root, String property) throws IdInvalidException {
+        try {
+            return root.get(property);
+        } catch (IllegalArgumentException e) {
+            throw new IdInvalidException("Cannot sort by " + property);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class KeysetIds {
+        private final List<Long> ids;
+        private final String next;
+        private final String prev;
+    }
+}
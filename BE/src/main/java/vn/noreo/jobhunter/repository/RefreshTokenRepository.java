@@ -0,0 +1,39 @@
+package vn.noreo.jobhunter.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import vn.noreo.jobhunter.domain.RefreshToken;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    RefreshToken findByJti(String jti);
+
+    @Transactional
+    @Modifying
+    @Query("update RefreshToken r set r.usedAt = :usedAt where r.jti in :jtis and r.usedAt is null")
+    int markUsed(@Param("jtis") Collection<String> jtis, @Param("usedAt") Instant usedAt);
+
+    @Transactional
+    @Modifying
+    @Query("update RefreshToken r set r.revoked = true where r.familyId = :familyId")
+    int revokeByFamilyId(@Param("familyId") String familyId);
+
+    @Transactional
+    @Modifying
+    @Query("update RefreshToken r set r.revoked = true where r.email = :email")
+    int revokeByEmail(@Param("email") String email);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
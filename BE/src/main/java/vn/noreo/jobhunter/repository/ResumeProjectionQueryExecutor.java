@@ -0,0 +1,146 @@
+package vn.noreo.jobhunter.repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import vn.noreo.jobhunter.domain.Company;
+import vn.noreo.jobhunter.domain.Job;
+import vn.noreo.jobhunter.domain.Resume;
+import vn.noreo.jobhunter.domain.User;
+import vn.noreo.jobhunter.domain.response.resume.ResFetchResumeDTO;
+import vn.noreo.jobhunter.util.constant.ResumeStateEnum;
+
+// Resume listings read as columns: resume, user, job and company joined in one
+// tuple query and mapped straight to ResFetchResumeDTO. No entity is
+// materialized => no eager/lazy association is loaded row by row
+@Repository
+public class ResumeProjectionQueryExecutor {
+
+    private final EntityManager entityManager;
+
+    public ResumeProjectionQueryExecutor(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    // Same Specification and Sort as findAll(spec, pageable), up to pageSize + 1
+    // rows: the extra row only tells whether there is a next page. Distinct in SQL
+    // (a join on a collection in the filter may repeat a row) so the limit counts
+    // resumes, not joined rows
+    public List<ResFetchResumeDTO> findPage(Specification<Resume> specification, Pageable pageable) {
+        CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Resume> root = query.from(Resume.class);
+        Predicate predicate = specification != null ? specification.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        // Sort keys are selected too: required by "select distinct ... order by"
+        List<Selection<?>> selections = selectColumns(root);
+        List<Order> orders = QueryUtils.toOrders(pageable.getSort(), root, cb);
+        orders.forEach(order -> selections.add(order.getExpression()));
+        query.multiselect(selections);
+        query.distinct(true);
+        query.orderBy(orders);
+
+        TypedQuery<Tuple> typedQuery = this.entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize() + 1);
+        }
+        return toResumes(typedQuery.getResultList());
+    }
+
+    // Rows of the given ids, in the order of the ids
+    public List<ResFetchResumeDTO> findByIdIn(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Resume> root = query.from(Resume.class);
+        query.multiselect(selectColumns(root));
+        query.where(root.get("id").in(ids));
+
+        Map<Long, ResFetchResumeDTO> resumesById = new LinkedHashMap<>();
+        toResumes(this.entityManager.createQuery(query).getResultList())
+                .forEach(resume -> resumesById.put(resume.getId(), resume));
+        List<ResFetchResumeDTO> resumes = new ArrayList<>();
+        for (Long id : ids) {
+            ResFetchResumeDTO resume = resumesById.get(id);
+            if (resume != null) {
+                resumes.add(resume);
+            }
+        }
+        return resumes;
+    }
+
+    // Columns in the order read by toResumes
+    private static List<Selection<?>> selectColumns(Root<Resume> root) {
+        Join<Resume, User> user = root.join("user", JoinType.LEFT);
+        Join<Resume, Job> job = root.join("job", JoinType.LEFT);
+        Join<Job, Company> company = job.join("company", JoinType.LEFT);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get("id"));
+        selections.add(root.get("email"));
+        selections.add(root.get("url"));
+        selections.add(root.get("status"));
+        selections.add(root.get("createdAt"));
+        selections.add(root.get("updatedAt"));
+        selections.add(root.get("createdBy"));
+        selections.add(root.get("updatedBy"));
+        selections.add(user.get("id"));
+        selections.add(user.get("name"));
+        selections.add(job.get("id"));
+        selections.add(job.get("name"));
+        selections.add(company.get("name"));
+        return selections;
+    }
+
+    private static List<ResFetchResumeDTO> toResumes(List<Tuple> tuples) {
+        List<ResFetchResumeDTO> resumes = new ArrayList<>();
+        for (Tuple tuple : tuples) {
+            ResFetchResumeDTO resume = new ResFetchResumeDTO();
+            resume.setId(tuple.get(0, Long.class));
+            resume.setEmail(tuple.get(1, String.class));
+            resume.setUrl(tuple.get(2, String.class));
+            resume.setStatus(tuple.get(3, ResumeStateEnum.class));
+            resume.setCreatedAt(tuple.get(4, Instant.class));
+            resume.setUpdatedAt(tuple.get(5, Instant.class));
+            resume.setCreatedBy(tuple.get(6, String.class));
+            resume.setUpdatedBy(tuple.get(7, String.class));
+            Long userId = tuple.get(8, Long.class);
+            if (userId != null) {
+                resume.setUser(new ResFetchResumeDTO.User(userId, tuple.get(9, String.class)));
+            }
+            Long jobId = tuple.get(10, Long.class);
+            if (jobId != null) {
+                resume.setJob(new ResFetchResumeDTO.Job(jobId, tuple.get(11, String.class)));
+                resume.setCompanyName(tuple.get(12, String.class));
+            }
+            resumes.add(resume);
+        }
+        return resumes;
+    }
+}
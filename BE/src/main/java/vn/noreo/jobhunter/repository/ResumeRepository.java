@@ -1,12 +1,59 @@
 package vn.noreo.jobhunter.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import vn.noreo.jobhunter.domain.Resume;
+import vn.noreo.jobhunter.util.constant.ResumeStateEnum;
 
 @Repository
 public interface ResumeRepository extends JpaRepository<Resume, Long>, JpaSpecificationExecutor<Resume> {
 
+    // [jobId, companyId] when both the job and the user exist, no row otherwise
+    @Query("select j.id, c.id from Job j left join j.company c where j.id = :jobId"
+            + " and exists (select u.id from User u where u.id = :userId)")
+    List<Object[]> findJobCompanyIfUserExists(@Param("userId") long userId, @Param("jobId") long jobId);
+
+    // [id, createdAt, createdBy] of the application of a user to a job
+    @Query("select r.id, r.createdAt, r.createdBy from Resume r where r.user.id = :userId and r.job.id = :jobId")
+    List<Object[]> findCreationByUserAndJob(@Param("userId") long userId, @Param("jobId") long jobId);
+
+    // [status, count] of a company inbox, read from idx_resumes_company_status_created_at only
+    @Query("select r.status, count(r) from Resume r where r.companyId = :companyId group by r.status")
+    List<Object[]> countByStatusForCompany(@Param("companyId") long companyId);
+
+    // A job moved to another company takes its resumes along
+    @Transactional
+    @Modifying
+    @Query("update Resume r set r.companyId = :companyId where r.job.id = :jobId")
+    int updateCompanyIdByJobId(@Param("jobId") long jobId, @Param("companyId") Long companyId);
+
+    // [id, status, company_id], rows locked until the transaction ends (bulk
+    // status transition: the checked status is the one updated)
+    @Query(value = "select id, status, company_id from resumes where id in (:ids) for update", nativeQuery = true)
+    List<Object[]> findStatusesForUpdate(@Param("ids") Collection<Long> ids);
+
+    // Set-based status change, no entity loaded (=> no @PreUpdate, audit set here)
+    @Transactional
+    @Modifying
+    @Query("update Resume r set r.status = :status, r.updatedAt = :now, r.updatedBy = :updatedBy"
+            + " where r.id in :ids")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") ResumeStateEnum status,
+            @Param("now") Instant now, @Param("updatedBy") String updatedBy);
+
+    // Resumes created before companyId existed
+    @Transactional
+    @Modifying
+    @Query("update Resume r set r.companyId = (select j.company.id from Job j where j.id = r.job.id)"
+            + " where r.companyId is null and r.job is not null")
+    int backfillCompanyId();
 }
@@ -0,0 +1,33 @@
+package vn.noreo.jobhunter.repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import vn.noreo.jobhunter.domain.ResumeStatusHistory;
+
+// Status history rows as one JDBC batch of inserts (no entity managed)
+@Repository
+public class ResumeStatusHistoryBatchRepository {
+
+    private static final String INSERT_SQL = "insert into resume_status_history"
+            + " (resume_id, from_status, to_status, changed_at, changed_by) values (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ResumeStatusHistoryBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertAll(List<ResumeStatusHistory> rows) {
+        this.jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (statement, row) -> {
+            statement.setLong(1, row.getResumeId());
+            statement.setString(2, row.getFromStatus() != null ? row.getFromStatus().name() : null);
+            statement.setString(3, row.getToStatus().name());
+            statement.setTimestamp(4, Timestamp.from(row.getChangedAt()));
+            statement.setString(5, row.getChangedBy());
+        });
+    }
+}
@@ -1,7 +1,10 @@
 package vn.noreo.jobhunter.repository;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import vn.noreo.jobhunter.domain.Role;
@@ -11,4 +14,8 @@ public interface RoleRepository extends JpaRepository<Role, Long>, JpaSpecificat
     boolean existsByName(String name);
 
     Role findByName(String name);
+
+    // Load all roles with permissions in one query (used to compile the permission matrix)
+    @Query("select distinct r from Role r left join fetch r.permissions")
+    List<Role> findAllWithPermissions();
 }
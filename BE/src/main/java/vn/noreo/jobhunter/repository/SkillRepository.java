@@ -1,7 +1,10 @@
 package vn.noreo.jobhunter.repository;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import vn.noreo.jobhunter.domain.Skill;
@@ -10,4 +13,8 @@ import vn.noreo.jobhunter.domain.Skill;
 public interface SkillRepository extends JpaRepository<Skill, Long>, JpaSpecificationExecutor<Skill> {
 
     boolean existsByName(String name);
+
+    // Lookup set of the job import
+    @Query("select s.id from Skill s")
+    List<Long> findAllIds();
 }
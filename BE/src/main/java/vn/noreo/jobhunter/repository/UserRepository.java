@@ -1,9 +1,12 @@
 package vn.noreo.jobhunter.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import vn.noreo.jobhunter.domain.Company;
@@ -15,7 +18,11 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
 
     boolean existsByEmail(String email);
 
-    User findByRefreshTokenAndEmail(String refreshToken, String email);
-
     List<User> findByCompany(Company company);
+
+    @Query("select u from User u left join fetch u.company left join fetch u.role where u.id in :ids")
+    List<User> findAllWithCompanyAndRoleByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select u.tokenVersion from User u where u.id = :id")
+    Long findTokenVersionById(@Param("id") Long id);
 }
@@ -3,7 +3,6 @@ package vn.noreo.jobhunter.service;
 import java.util.List;
 import java.util.Optional;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
@@ -12,31 +11,45 @@ import vn.noreo.jobhunter.domain.User;
 import vn.noreo.jobhunter.domain.response.ResultPaginationDTO;
 import vn.noreo.jobhunter.repository.CompanyRepository;
 import vn.noreo.jobhunter.repository.UserRepository;
+import vn.noreo.jobhunter.util.constant.CachedEntityTypeEnum;
+import vn.noreo.jobhunter.util.constant.CountStrategyEnum;
+import vn.noreo.jobhunter.util.error.IdInvalidException;
 
 @Service
 public class CompanyService {
 
     private final UserRepository userRepository;
     private final CompanyRepository companyRepository;
-
-    public CompanyService(CompanyRepository companyRepository, UserRepository userRepository) {
+    private final PaginationService paginationService;
+    private final JobSearchService jobSearchService;
+    private final EntityCacheService entityCacheService;
+    private final ResponseCacheService responseCacheService;
+
+    public CompanyService(CompanyRepository companyRepository, UserRepository userRepository,
+            PaginationService paginationService, JobSearchService jobSearchService,
+            EntityCacheService entityCacheService, ResponseCacheService responseCacheService) {
         this.companyRepository = companyRepository;
         this.userRepository = userRepository;
+        this.paginationService = paginationService;
+        this.jobSearchService = jobSearchService;
+        this.entityCacheService = entityCacheService;
+        this.responseCacheService = responseCacheService;
     }
 
     public Company handleCreateCompany(Company newCompany) {
-        return this.companyRepository.save(newCompany);
+        Company company = this.companyRepository.save(newCompany);
+        this.responseCacheService.handleEntityChanged(CachedEntityTypeEnum.COMPANY);
+        return company;
     }
 
-    public ResultPaginationDTO handleFetchAllCompanies(Specification<Company> specification, Pageable pageable) {
-        Page<Company> companyPage = this.companyRepository.findAll(specification, pageable);
+    public ResultPaginationDTO handleFetchAllCompanies(Specification<Company> specification, Pageable pageable,
+            CountStrategyEnum countStrategy, String countCacheKey) throws IdInvalidException {
+        PaginationService.ResultPage<Company> companyPage = this.paginationService.findPage(this.companyRepository,
+                Company.class, specification, pageable, countStrategy, countCacheKey);
         ResultPaginationDTO resultPaginationDTO = new ResultPaginationDTO();
         ResultPaginationDTO.Meta meta = new ResultPaginationDTO.Meta();
 
-        meta.setPage(pageable.getPageNumber() + 1);
-        meta.setPageSize(pageable.getPageSize());
-        meta.setPages(companyPage.getTotalPages());
-        meta.setTotal(companyPage.getTotalElements());
+        this.paginationService.fillMeta(meta, pageable, companyPage);
 
         resultPaginationDTO.setMeta(meta);
         resultPaginationDTO.setResult(companyPage.getContent());
@@ -48,6 +61,11 @@ public class CompanyService {
         return this.companyRepository.findById(id).orElse(null);
     }
 
+    // Company detail page (read-only): cached, null = not found
+    public EntityCacheService.CachedEntity<Company> handleFetchCachedCompanyById(long id) {
+        return this.entityCacheService.getCompany(id, () -> this.companyRepository.findById(id).orElse(null));
+    }
+
     public Company handleUpdateCompany(Company updatedCompany) {
         // Company currentCompany = this.handleFetchCompanyById(updatedCompany.getId());
         // if (currentCompany != null) {
@@ -68,7 +86,11 @@ public class CompanyService {
             company.setDescription(updatedCompany.getDescription());
             company.setAddress(updatedCompany.getAddress());
             company.setLogo(updatedCompany.getLogo());
-            return this.companyRepository.save(company);
+            company = this.companyRepository.save(company);
+            this.entityCacheService.evictCompany(company.getId());
+            this.responseCacheService.handleEntityChanged(CachedEntityTypeEnum.COMPANY);
+            this.jobSearchService.handleReindexCompanyJobs(company.getId());
+            return company;
         }
         return null;
     }
@@ -82,6 +104,8 @@ public class CompanyService {
             this.userRepository.deleteAll(listUsers);
         }
         this.companyRepository.deleteById(id);
+        this.entityCacheService.evictCompany(id);
+        this.responseCacheService.handleEntityChanged(CachedEntityTypeEnum.COMPANY);
     }
 
     public Optional<Company> findById(long id) {
@@ -0,0 +1,164 @@
+package vn.noreo.jobhunter.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import vn.noreo.jobhunter.domain.Company;
+import vn.noreo.jobhunter.domain.Job;
+import vn.noreo.jobhunter.domain.Skill;
+import vn.noreo.jobhunter.util.TinyLfuCache;
+
+// Read-through cache of the job/company detail aggregates (GET /jobs/{id},
+// /companies/{id}) with their ETag. Bounded by the size of their JSON, evicted by
+// W-TinyLFU. Cached entities are detached and read-only: never modify/save them.
+// Invalidated by the update/delete service methods
+@Service
+public class EntityCacheService {
+
+    private final ObjectMapper objectMapper;
+    private final TinyLfuCache<Long, CachedEntity<Job>> jobCache;
+    private final TinyLfuCache<Long, CachedEntity<Company>> companyCache;
+
+    // Bumped by every invalidation, before the entries are removed: a value loaded
+    // before an invalidation is not cached (it may be older than the update). The
+    // check and the put are one step under the cache lock, so an invalidation
+    // either sees the new entry and removes it, or the put sees the new generation
+    private final AtomicLong generation = new AtomicLong();
+
+    public EntityCacheService(
+            ObjectMapper objectMapper,
+            @Value("${cache.entity.max-weight-bytes:33554432}") long maxWeightBytes,
+            @Value("${cache.entity.expected-entries:10000}") int expectedEntries,
+            MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        // Jobs (description) take most of the room
+        this.jobCache = new TinyLfuCache<>(maxWeightBytes * 3 / 4, expectedEntries);
+        this.companyCache = new TinyLfuCache<>(maxWeightBytes / 4, expectedEntries / 4);
+
+        registerMetrics(meterRegistry, "job", this.jobCache);
+        registerMetrics(meterRegistry, "company", this.companyCache);
+    }
+
+    // loader returns null => not found, nothing cached
+    public CachedEntity<Job> getJob(long id, Supplier<Job> loader) {
+        return this.getOrLoad(this.jobCache, id, loader, job -> entityETag("job", job.getId(),
+                versionOf(job.getCreatedAt(), job.getUpdatedAt()), job.getCompany(), job.getSkills()));
+    }
+
+    public CachedEntity<Company> getCompany(long id, Supplier<Company> loader) {
+        return this.getOrLoad(this.companyCache, id, loader, company -> entityETag("company", company.getId(),
+                versionOf(company.getCreatedAt(), company.getUpdatedAt()), null, null));
+    }
+
+    public void evictJob(long id) {
+        this.generation.incrementAndGet();
+        this.jobCache.invalidate(id);
+    }
+
+    // A job embeds its company => company changes evict its jobs too
+    public void evictCompany(long id) {
+        this.generation.incrementAndGet();
+        this.companyCache.invalidate(id);
+        this.jobCache.invalidateIf(
+                entry -> entry.getValue().getCompany() != null && entry.getValue().getCompany().getId() == id);
+    }
+
+    public void evictJobsWithSkill(long skillId) {
+        this.generation.incrementAndGet();
+        this.jobCache.invalidateIf(entry -> entry.getValue().getSkills() != null
+                && entry.getValue().getSkills().stream().anyMatch(skill -> skill.getId() == skillId));
+    }
+
+    private <T> CachedEntity<T> getOrLoad(TinyLfuCache<Long, CachedEntity<T>> cache, long id, Supplier<T> loader,
+            Function<T, String> eTag) {
+        CachedEntity<T> cached = cache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadGeneration = this.generation.get();
+        T value = loader.get();
+        if (value == null) {
+            return null;
+        }
+        CachedEntity<T> entry = new CachedEntity<>(value, eTag.apply(value));
+        cache.putIf(id, entry, this.weightOf(value), () -> loadGeneration == this.generation.get());
+        return entry;
+    }
+
+    // Serialized size ~ memory held by the aggregate
+    private long weightOf(Object value) {
+        try {
+            return this.objectMapper.writeValueAsBytes(value).length;
+        } catch (JsonProcessingException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    // Strong ETag over everything rendered: the entity version and the versions of
+    // the embedded company/skills (ids included, a skill list change may not bump
+    // updatedAt)
+    private static String entityETag(String type, long id, long version, Company company, List<Skill> skills) {
+        StringBuilder source = new StringBuilder(type).append(':').append(id).append(':').append(version);
+        if (company != null) {
+            source.append("|c:").append(company.getId()).append(':')
+                    .append(versionOf(company.getCreatedAt(), company.getUpdatedAt()));
+        }
+        if (skills != null) {
+            skills.stream().sorted(Comparator.comparingLong(Skill::getId))
+                    .forEach(skill -> source.append("|s:").append(skill.getId()).append(':')
+                            .append(versionOf(skill.getCreatedAt(), skill.getUpdatedAt())));
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(source.toString().getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long versionOf(Instant createdAt, Instant updatedAt) {
+        Instant version = updatedAt != null ? updatedAt : createdAt;
+        return version != null ? version.toEpochMilli() : 0;
+    }
+
+    private static void registerMetrics(MeterRegistry meterRegistry, String cacheName, TinyLfuCache<?, ?> cache) {
+        FunctionCounter.builder("entity.cache.requests", cache, TinyLfuCache::hitCount)
+                .tag("cache", cacheName).tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("entity.cache.requests", cache, TinyLfuCache::missCount)
+                .tag("cache", cacheName).tag("result", "miss").register(meterRegistry);
+        FunctionCounter.builder("entity.cache.evictions", cache, TinyLfuCache::evictionCount)
+                .tag("cache", cacheName).register(meterRegistry);
+        Gauge.builder("entity.cache.size", cache, TinyLfuCache::size)
+                .tag("cache", cacheName).register(meterRegistry);
+        Gauge.builder("entity.cache.weight", cache, TinyLfuCache::weight)
+                .tag("cache", cacheName).baseUnit("bytes").register(meterRegistry);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class CachedEntity<T> {
+        private final T value;
+        private final String eTag;
+    }
+}
@@ -0,0 +1,268 @@
+package vn.noreo.jobhunter.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.query.Query;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.FetchParent;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import vn.noreo.jobhunter.domain.Job;
+import vn.noreo.jobhunter.domain.Resume;
+import vn.noreo.jobhunter.domain.User;
+import vn.noreo.jobhunter.util.constant.ExportFormatEnum;
+
+// Exports written straight to the response: forward-only, read-only scroll
+// (MySQL streams rows with fetch size Integer.MIN_VALUE), each entity is mapped
+// to flat columns and written, the persistence context is cleared every
+// CLEAR_INTERVAL rows => memory does not grow with the row count. While the
+// result set streams the connection can run no other query: every eager
+// association reached by a row is fetch-joined
+@Service
+public class ExportService {
+
+    private static final int CLEAR_INTERVAL = 1000;
+
+    private static final List<ExportColumn<Job>> JOB_COLUMNS = List.of(
+            new ExportColumn<>("id", Job::getId),
+            new ExportColumn<>("name", Job::getName),
+            new ExportColumn<>("location", Job::getLocation),
+            new ExportColumn<>("salary", Job::getSalary),
+            new ExportColumn<>("quantity", Job::getQuantity),
+            new ExportColumn<>("level", Job::getLevel),
+            new ExportColumn<>("startDate", Job::getStartDate),
+            new ExportColumn<>("endDate", Job::getEndDate),
+            new ExportColumn<>("active", Job::isActive),
+            new ExportColumn<>("companyId", job -> job.getCompany() != null ? job.getCompany().getId() : null),
+            new ExportColumn<>("companyName", job -> job.getCompany() != null ? job.getCompany().getName() : null),
+            new ExportColumn<>("createdAt", Job::getCreatedAt),
+            new ExportColumn<>("createdBy", Job::getCreatedBy));
+
+    private static final List<ExportColumn<Resume>> RESUME_COLUMNS = List.of(
+            new ExportColumn<>("id", Resume::getId),
+            new ExportColumn<>("email", Resume::getEmail),
+            new ExportColumn<>("url", Resume::getUrl),
+            new ExportColumn<>("status", Resume::getStatus),
+            new ExportColumn<>("userId", resume -> resume.getUser() != null ? resume.getUser().getId() : null),
+            new ExportColumn<>("userName", resume -> resume.getUser() != null ? resume.getUser().getName() : null),
+            new ExportColumn<>("jobId", resume -> resume.getJob() != null ? resume.getJob().getId() : null),
+            new ExportColumn<>("jobName", resume -> resume.getJob() != null ? resume.getJob().getName() : null),
+            new ExportColumn<>("companyName", resume -> resume.getJob() != null && resume.getJob().getCompany() != null
+                    ? resume.getJob().getCompany().getName()
+                    : null),
+            new ExportColumn<>("createdAt", Resume::getCreatedAt),
+            new ExportColumn<>("updatedAt", Resume::getUpdatedAt));
+
+    // No password
+    private static final List<ExportColumn<User>> USER_COLUMNS = List.of(
+            new ExportColumn<>("id", User::getId),
+            new ExportColumn<>("name", User::getName),
+            new ExportColumn<>("email", User::getEmail),
+            new ExportColumn<>("age", User::getAge),
+            new ExportColumn<>("gender", User::getGender),
+            new ExportColumn<>("address", User::getAddress),
+            new ExportColumn<>("companyId", user -> user.getCompany() != null ? user.getCompany().getId() : null),
+            new ExportColumn<>("companyName", user -> user.getCompany() != null ? user.getCompany().getName() : null),
+            new ExportColumn<>("role", user -> user.getRole() != null ? user.getRole().getName() : null),
+            new ExportColumn<>("createdAt", User::getCreatedAt));
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public ExportService(EntityManager entityManager, ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${export.timeout-seconds:1800}") int timeoutSeconds) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setTimeout(timeoutSeconds);
+    }
+
+    public void handleExportJobs(Specification<Job> specification, ExportFormatEnum format, OutputStream output) {
+        this.export(Job.class, specification, List.of("company"), JOB_COLUMNS, format, output);
+    }
+
+    public void handleExportResumes(Specification<Resume> specification, ExportFormatEnum format,
+            OutputStream output) {
+        this.export(Resume.class, specification, List.of("user.company", "user.role", "job.company"),
+                RESUME_COLUMNS, format, output);
+    }
+
+    public void handleExportUsers(Specification<User> specification, ExportFormatEnum format, OutputStream output) {
+        this.export(User.class, specification, List.of("company", "role"), USER_COLUMNS, format, output);
+    }
+
+    // fetchPaths: "a.b" => left join fetch a, then a.b
+    private <T> void export(Class<T> domainClass, Specification<T> specification, List<String> fetchPaths,
+            List<ExportColumn<T>> columns, ExportFormatEnum format, OutputStream output) {
+        this.transactionTemplate.executeWithoutResult(status -> {
+            CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+            CriteriaQuery<T> query = cb.createQuery(domainClass);
+            Root<T> root = query.from(domainClass);
+            // "user.company" and "user.role" share the "user" fetch
+            Map<String, FetchParent<?, ?>> fetches = new HashMap<>();
+            for (String fetchPath : fetchPaths) {
+                FetchParent<?, ?> parent = root;
+                String path = "";
+                for (String attribute : fetchPath.split("\\.")) {
+                    path = path.isEmpty() ? attribute : path + "." + attribute;
+                    FetchParent<?, ?> current = parent;
+                    parent = fetches.computeIfAbsent(path, key -> current.fetch(attribute, JoinType.LEFT));
+                }
+            }
+            Predicate predicate = specification != null ? specification.toPredicate(root, query, cb) : null;
+            if (predicate != null) {
+                query.where(predicate);
+            }
+            query.orderBy(cb.asc(root.get("id")));
+
+            @SuppressWarnings("unchecked")
+            Query<T> hibernateQuery = this.entityManager.createQuery(query).unwrap(Query.class);
+            hibernateQuery.setReadOnly(true);
+            hibernateQuery.setFetchSize(Integer.MIN_VALUE);
+
+            try (ScrollableResults<T> results = hibernateQuery.scroll(ScrollMode.FORWARD_ONLY);
+                    RowWriter<T> rowWriter = format == ExportFormatEnum.CSV ? new CsvRowWriter<>(columns, output)
+                            : new NdjsonRowWriter<>(columns, output, this.objectMapper)) {
+                long count = 0;
+                while (results.next()) {
+                    rowWriter.write(results.get());
+                    if (++count % CLEAR_INTERVAL == 0) {
+                        rowWriter.flush();
+                        this.entityManager.clear();
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public record ExportColumn<T>(String name, Function<T, Object> value) {
+    }
+
+    private interface RowWriter<T> extends AutoCloseable {
+        void write(T row) throws IOException;
+
+        void flush() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    // One JSON object per line, keys = column names
+    private static class NdjsonRowWriter<T> implements RowWriter<T> {
+        private final List<ExportColumn<T>> columns;
+        private final SequenceWriter sequenceWriter;
+        private final OutputStream output;
+        private boolean empty = true;
+
+        private NdjsonRowWriter(List<ExportColumn<T>> columns, OutputStream output, ObjectMapper objectMapper)
+                throws IOException {
+            this.columns = columns;
+            this.output = output;
+            this.sequenceWriter = objectMapper.writer().withRootValueSeparator("\n").writeValues(output);
+        }
+
+        @Override
+        public void write(T row) throws IOException {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (ExportColumn<T> column : this.columns) {
+                values.put(column.name(), column.value().apply(row));
+            }
+            this.sequenceWriter.write(values);
+            this.empty = false;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            this.sequenceWriter.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.sequenceWriter.flush();
+            if (!this.empty) {
+                this.output.write('\n');
+            }
+            this.sequenceWriter.close();
+        }
+    }
+
+    // Header line, then RFC 4180 rows
+    private static class CsvRowWriter<T> implements RowWriter<T> {
+        private final List<ExportColumn<T>> columns;
+        private final Writer writer;
+
+        private CsvRowWriter(List<ExportColumn<T>> columns, OutputStream output) throws IOException {
+            this.columns = columns;
+            this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    this.writer.write(',');
+                }
+                this.writer.write(columns.get(i).name());
+            }
+            this.writer.write("\r\n");
+        }
+
+        @Override
+        public void write(T row) throws IOException {
+            for (int i = 0; i < this.columns.size(); i++) {
+                if (i > 0) {
+                    this.writer.write(',');
+                }
+                Object value = this.columns.get(i).value().apply(row);
+                if (value != null) {
+                    this.writer.write(escape(value.toString()));
+                }
+            }
+            this.writer.write("\r\n");
+        }
+
+        @Override
+        public void flush() throws IOException {
+            this.writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.writer.close();
+        }
+
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                    && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package vn.noreo.jobhunter.service;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import vn.noreo.jobhunter.domain.Job;
+import vn.noreo.jobhunter.repository.JobRepository;
+import vn.noreo.jobhunter.util.constant.LevelEnum;
+import vn.noreo.jobhunter.util.search.CompressedBitmap;
+
+// Job ids per skill (mirror of job_skill), per level, company, location and for
+// active jobs, as compressed bitmaps => "jobs having any/all of these skills" is
+// a few bitmap operations instead of joins, and facet counts are intersection
+// cardinalities instead of GROUP BY queries. Job ids are assumed to fit in an int
+@Service
+public class JobBitmapIndexService {
+
+    private final JobRepository jobRepository;
+    private final Logger log = LoggerFactory.getLogger(JobBitmapIndexService.class);
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, CompressedBitmap> jobsBySkill = new HashMap<>();
+    private final Map<LevelEnum, CompressedBitmap> jobsByLevel = new EnumMap<>(LevelEnum.class);
+    private final Map<Long, CompressedBitmap> jobsByCompany = new HashMap<>();
+    private final Map<String, CompressedBitmap> jobsByLocation = new HashMap<>();
+    private final CompressedBitmap activeJobs = new CompressedBitmap();
+    private final CompressedBitmap allJobs = new CompressedBitmap();
+
+    public JobBitmapIndexService(JobRepository jobRepository, MeterRegistry meterRegistry) {
+        this.jobRepository = jobRepository;
+        Gauge.builder("job.bitmap.index.bytes", this, JobBitmapIndexService::sizeInBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("job.bitmap.index.bitmaps", this, JobBitmapIndexService::bitmapCount)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        long start = System.nanoTime();
+        this.lock.writeLock().lock();
+        try {
+            this.jobsBySkill.clear();
+            this.jobsByLevel.clear();
+            this.jobsByCompany.clear();
+            this.jobsByLocation.clear();
+            this.activeJobs.clear();
+            this.allJobs.clear();
+            for (Object[] row : this.jobRepository.findAllJobSkillPairs()) {
+                this.jobsBySkill.computeIfAbsent((Long) row[1], id -> new CompressedBitmap())
+                        .add(toInt((Long) row[0]));
+            }
+            for (Object[] row : this.jobRepository.findAllIndexedAttributes()) {
+                this.indexAttributesLocked(toInt((Long) row[0]), (Boolean) row[1], (LevelEnum) row[2],
+                        (Long) row[3], (String) row[4]);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+        log.info(">>> Job bitmap index built: {} skills, {} bytes in {} ms", this.jobsBySkill.size(),
+                this.sizeInBytes(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public void handleIndexJob(Job job) {
+        int jobId = toInt(job.getId());
+        this.lock.writeLock().lock();
+        try {
+            this.removeLocked(jobId);
+            if (job.getSkills() != null) {
+                job.getSkills().forEach(skill -> this.jobsBySkill
+                        .computeIfAbsent(skill.getId(), id -> new CompressedBitmap()).add(jobId));
+            }
+            this.indexAttributesLocked(jobId, job.isActive(), job.getLevel(),
+                    job.getCompany() != null ? job.getCompany().getId() : null, job.getLocation());
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public void handleRemoveJob(long id) {
+        this.lock.writeLock().lock();
+        try {
+            this.removeLocked(toInt(id));
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public void handleDeactivateJobs(Collection<Long> ids) {
+        this.lock.writeLock().lock();
+        try {
+            ids.forEach(id -> this.activeJobs.remove(toInt(id)));
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public void handleRemoveSkill(long skillId) {
+        this.lock.writeLock().lock();
+        try {
+            this.jobsBySkill.remove(skillId);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isActive(long jobId) {
+        this.lock.readLock().lock();
+        try {
+            return this.activeJobs.contains(toInt(jobId));
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    // Ids of the jobs having all (matchAll) or any of the skills, optionally
+    // restricted to active jobs / a level. null criteria are ignored
+    public long[] findJobIds(Collection<Long> skillIds, boolean matchAll, Boolean active, LevelEnum level) {
+        this.lock.readLock().lock();
+        try {
+            CompressedBitmap result = this.resolveLocked(skillIds, matchAll, active, level);
+            int[] values = result != null ? result.toArray() : new int[0];
+            long[] jobIds = new long[values.length];
+            for (int i = 0; i < values.length; i++) {
+                jobIds[i] = values[i] & 0xFFFFFFFFL;
+            }
+            return jobIds;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    // Counts per level, location, company and skill of the active jobs matching
+    // the criteria. filteredJobIds (result of a free-form filter) further
+    // restricts the set, null = no filter. One pass over the facet bitmaps, each
+    // count is an intersection cardinality (nothing is materialized)
+    public FacetCounts computeFacets(Collection<Long> skillIds, boolean matchAll, LevelEnum level,
+            long[] filteredJobIds) {
+        this.lock.readLock().lock();
+        try {
+            CompressedBitmap matching = this.resolveLocked(skillIds, matchAll, true, level);
+            CompressedBitmap base = filteredJobIds != null
+                    ? CompressedBitmap.and(matching, CompressedBitmap.of(filteredJobIds))
+                    : matching;
+
+            Map<LevelEnum, Integer> levels = new EnumMap<>(LevelEnum.class);
+            this.jobsByLevel.forEach((key, bitmap) -> levels.put(key, CompressedBitmap.andCardinality(base, bitmap)));
+            return new FacetCounts(base.cardinality(), levels, countsLocked(base, this.jobsByLocation),
+                    countsLocked(base, this.jobsByCompany), countsLocked(base, this.jobsBySkill));
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    // null = no criterion at all (every job)
+    private CompressedBitmap resolveLocked(Collection<Long> skillIds, boolean matchAll, Boolean active,
+            LevelEnum level) {
+        CompressedBitmap result = null;
+        if (skillIds != null && !skillIds.isEmpty()) {
+            for (Long skillId : skillIds) {
+                CompressedBitmap skillJobs = this.jobsBySkill.getOrDefault(skillId, new CompressedBitmap());
+                result = result == null ? skillJobs
+                        : matchAll ? CompressedBitmap.and(result, skillJobs)
+                                : CompressedBitmap.or(result, skillJobs);
+            }
+        }
+        if (level != null) {
+            CompressedBitmap levelJobs = this.jobsByLevel.getOrDefault(level, new CompressedBitmap());
+            result = result == null ? levelJobs : CompressedBitmap.and(result, levelJobs);
+        }
+        if (active != null) {
+            CompressedBitmap base = result != null ? result : this.allJobs;
+            result = active ? CompressedBitmap.and(base, this.activeJobs)
+                    : CompressedBitmap.andNot(base, this.activeJobs);
+        }
+        return result;
+    }
+
+    // Non-zero counts only, largest first
+    private static <K> Map<K, Integer> countsLocked(CompressedBitmap base, Map<K, CompressedBitmap> bitmaps) {
+        Map<K, Integer> counts = new HashMap<>();
+        bitmaps.forEach((key, bitmap) -> {
+            int count = CompressedBitmap.andCardinality(base, bitmap);
+            if (count > 0) {
+                counts.put(key, count);
+            }
+        });
+        Map<K, Integer> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<K, Integer>comparingByValue().reversed())
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    private void indexAttributesLocked(int jobId, Boolean active, LevelEnum level, Long companyId,
+            String location) {
+        this.allJobs.add(jobId);
+        if (Boolean.TRUE.equals(active)) {
+            this.activeJobs.add(jobId);
+        }
+        if (level != null) {
+            this.jobsByLevel.computeIfAbsent(level, l -> new CompressedBitmap()).add(jobId);
+        }
+        if (companyId != null) {
+            this.jobsByCompany.computeIfAbsent(companyId, id -> new CompressedBitmap()).add(jobId);
+        }
+        if (location != null && !location.isBlank()) {
+            this.jobsByLocation.computeIfAbsent(location.trim(), l -> new CompressedBitmap()).add(jobId);
+        }
+    }
+
+    private void removeLocked(int jobId) {
+        this.jobsBySkill.values().forEach(bitmap -> bitmap.remove(jobId));
+        this.jobsByLevel.values().forEach(bitmap -> bitmap.remove(jobId));
+        this.jobsByCompany.values().forEach(bitmap -> bitmap.remove(jobId));
+        // Free-text values: drop a location once no job uses it any more
+        this.jobsByLocation.values().removeIf(bitmap -> {
+            bitmap.remove(jobId);
+            return bitmap.isEmpty();
+        });
+        this.activeJobs.remove(jobId);
+        this.allJobs.remove(jobId);
+    }
+
+    private long sizeInBytes() {
+        this.lock.readLock().lock();
+        try {
+            long bytes = this.activeJobs.sizeInBytes() + this.allJobs.sizeInBytes();
+            for (CompressedBitmap bitmap : this.jobsBySkill.values()) {
+                bytes += bitmap.sizeInBytes();
+            }
+            for (CompressedBitmap bitmap : this.jobsByLevel.values()) {
+                bytes += bitmap.sizeInBytes();
+            }
+            for (CompressedBitmap bitmap : this.jobsByCompany.values()) {
+                bytes += bitmap.sizeInBytes();
+            }
+            for (CompressedBitmap bitmap : this.jobsByLocation.values()) {
+                bytes += bitmap.sizeInBytes();
+            }
+            return bytes;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private int bitmapCount() {
+        this.lock.readLock().lock();
+        try {
+            return this.jobsBySkill.size() + this.jobsByLevel.size() + this.jobsByCompany.size()
+                    + this.jobsByLocation.size() + 2;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class FacetCounts {
+        private final int total;
+        private final Map<LevelEnum, Integer> levels;
+        private final Map<String, Integer> locations;
+        private final Map<Long, Integer> companies;
+        private final Map<Long, Integer> skills;
+    }
+
+    private static int toInt(long jobId) {
+        if (jobId < 0 || jobId > 0xFFFFFFFFL) {
+            throw new IllegalArgumentException("Job id out of range for the bitmap index: " + jobId);
+        }
+        return (int) jobId;
+    }
+}
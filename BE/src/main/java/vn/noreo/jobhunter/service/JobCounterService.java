@@ -0,0 +1,213 @@
+package vn.noreo.jobhunter.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import vn.noreo.jobhunter.domain.JobCounter;
+import vn.noreo.jobhunter.domain.response.job.ResJobCounterDTO;
+import vn.noreo.jobhunter.repository.JobCounterBatchRepository;
+import vn.noreo.jobhunter.repository.JobCounterRepository;
+import vn.noreo.jobhunter.repository.JobRepository;
+import vn.noreo.jobhunter.util.error.IdInvalidException;
+
+// Views/applications per job. A hit only increments a LongAdder (no contention
+// between threads, no database write); pending deltas are written every few
+// seconds as one batch of upserts in one transaction. Totals stay in memory for
+// the top-N ranking
+@Service
+public class JobCounterService {
+
+    private final JobCounterRepository jobCounterRepository;
+    private final JobCounterBatchRepository jobCounterBatchRepository;
+    private final JobRepository jobRepository;
+    private final JobBitmapIndexService jobBitmapIndexService;
+    private final TransactionTemplate transactionTemplate;
+    private final Logger log = LoggerFactory.getLogger(JobCounterService.class);
+
+    private final ConcurrentHashMap<Long, Counters> counters = new ConcurrentHashMap<>();
+
+    // Held by a flush from drain to commit, and by a removal => a removed job is
+    // never re-upserted by a flush that drained it before the removal
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public JobCounterService(JobCounterRepository jobCounterRepository,
+            JobCounterBatchRepository jobCounterBatchRepository, JobRepository jobRepository,
+            JobBitmapIndexService jobBitmapIndexService, PlatformTransactionManager transactionManager) {
+        this.jobCounterRepository = jobCounterRepository;
+        this.jobCounterBatchRepository = jobCounterBatchRepository;
+        this.jobRepository = jobRepository;
+        this.jobBitmapIndexService = jobBitmapIndexService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        for (JobCounter jobCounter : this.jobCounterRepository.findAll()) {
+            Counters jobCounters = this.counters.computeIfAbsent(jobCounter.getJobId(), id -> new Counters());
+            jobCounters.persistedViews = jobCounter.getViews();
+            jobCounters.persistedApplications = jobCounter.getApplications();
+        }
+        log.info(">>> Job counters loaded: {} jobs", this.counters.size());
+    }
+
+    public void handleRecordView(long jobId) {
+        this.counters.computeIfAbsent(jobId, id -> new Counters()).pendingViews.increment();
+    }
+
+    public void handleRecordApplication(long jobId) {
+        this.counters.computeIfAbsent(jobId, id -> new Counters()).pendingApplications.increment();
+    }
+
+    public void handleRemoveJob(long jobId) {
+        this.flushLock.lock();
+        try {
+            this.counters.remove(jobId);
+            this.jobCounterRepository.deleteById(jobId);
+        } finally {
+            this.flushLock.unlock();
+        }
+    }
+
+    // sort = views | applications, served from memory. Open jobs only: inactive
+    // ones are skipped from the bitmap index, then the candidates are checked in
+    // one query (active, endDate not passed); a rejected job is excluded and the
+    // ranking redone
+    public List<ResJobCounterDTO> handleFetchTopJobs(String sort, int limit) throws IdInvalidException {
+        ToLongFunction<ResJobCounterDTO> metric;
+        if ("views".equalsIgnoreCase(sort)) {
+            metric = ResJobCounterDTO::getViews;
+        } else if ("applications".equalsIgnoreCase(sort)) {
+            metric = ResJobCounterDTO::getApplications;
+        } else {
+            throw new IdInvalidException("Cannot rank jobs by " + sort);
+        }
+        int size = Math.max(1, Math.min(limit, 100));
+
+        // Min-heap of the best "size" jobs: O(n log size)
+        Comparator<ResJobCounterDTO> order = Comparator.comparingLong(metric)
+                .thenComparing(Comparator.comparingLong(ResJobCounterDTO::getJobId).reversed());
+        Set<Long> closedJobIds = new HashSet<>();
+        while (true) {
+            PriorityQueue<ResJobCounterDTO> top = new PriorityQueue<>(size + 1, order);
+            this.counters.forEach((jobId, jobCounters) -> {
+                if (closedJobIds.contains(jobId) || !this.jobBitmapIndexService.isActive(jobId)) {
+                    return;
+                }
+                top.add(new ResJobCounterDTO(jobId, jobCounters.views(), jobCounters.applications()));
+                if (top.size() > size) {
+                    top.poll();
+                }
+            });
+            if (top.isEmpty()) {
+                return new ArrayList<>();
+            }
+
+            List<Long> jobIds = top.stream().map(ResJobCounterDTO::getJobId).collect(Collectors.toList());
+            Set<Long> openJobIds = new HashSet<>(this.jobRepository.findOpenIdsByIdIn(jobIds, Instant.now()));
+            if (openJobIds.size() == jobIds.size()) {
+                List<ResJobCounterDTO> result = new ArrayList<>(top);
+                result.sort(order.reversed());
+                return result;
+            }
+            jobIds.stream().filter(jobId -> !openJobIds.contains(jobId)).forEach(closedJobIds::add);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${job-counter.flush-interval-ms:5000}")
+    public void flushPendingCounters() {
+        this.flushLock.lock();
+        try {
+            this.flushLocked();
+        } finally {
+            this.flushLock.unlock();
+        }
+    }
+
+    private void flushLocked() {
+        // Pending deltas move to the persisted totals under the counters' lock =>
+        // a concurrent top-N read never sees them twice or not at all
+        List<long[]> deltas = new ArrayList<>();
+        this.counters.forEach((jobId, jobCounters) -> {
+            long[] delta = jobCounters.drain(jobId);
+            if (delta[1] != 0 || delta[2] != 0) {
+                deltas.add(delta);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            // One transaction: a failed batch leaves no row updated, so every delta
+            // can go back to pending without being counted twice
+            this.transactionTemplate.executeWithoutResult(
+                    status -> this.jobCounterBatchRepository.addDeltas(deltas, Instant.now()));
+        } catch (Exception e) {
+            // Back to pending, retry on the next run
+            log.error(">>> Flush job counters failed: {}", e.getMessage());
+            deltas.forEach(delta -> {
+                Counters jobCounters = this.counters.get(delta[0]);
+                if (jobCounters != null) {
+                    jobCounters.restore(delta);
+                }
+            });
+        }
+    }
+
+    // Final flush on graceful shutdown
+    @PreDestroy
+    public void onShutdown() {
+        this.flushPendingCounters();
+    }
+
+    private static class Counters {
+        private final LongAdder pendingViews = new LongAdder();
+        private final LongAdder pendingApplications = new LongAdder();
+        private long persistedViews;
+        private long persistedApplications;
+
+        private synchronized long[] drain(long jobId) {
+            long views = this.pendingViews.sumThenReset();
+            long applications = this.pendingApplications.sumThenReset();
+            this.persistedViews += views;
+            this.persistedApplications += applications;
+            return new long[] { jobId, views, applications };
+        }
+
+        private synchronized void restore(long[] delta) {
+            this.persistedViews -= delta[1];
+            this.persistedApplications -= delta[2];
+            this.pendingViews.add(delta[1]);
+            this.pendingApplications.add(delta[2]);
+        }
+
+        // Persisted total + not yet flushed
+        private synchronized long views() {
+            return this.persistedViews + this.pendingViews.sum();
+        }
+
+        private synchronized long applications() {
+            return this.persistedApplications + this.pendingApplications.sum();
+        }
+    }
+}
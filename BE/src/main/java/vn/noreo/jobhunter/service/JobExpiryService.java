@@ -0,0 +1,84 @@
+package vn.noreo.jobhunter.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import vn.noreo.jobhunter.repository.JobRepository;
+import vn.noreo.jobhunter.util.constant.CachedEntityTypeEnum;
+
+// Deactivates the active jobs past their endDate: ids are read by chunks on the
+// (active, endDate) index and flipped by one bulk update per chunk, no entity is
+// loaded. Caches and in-memory indexes of the expired jobs are updated after
+// each chunk
+@Service
+public class JobExpiryService {
+
+    private final JobRepository jobRepository;
+    private final JobSearchService jobSearchService;
+    private final JobBitmapIndexService jobBitmapIndexService;
+    private final EntityCacheService entityCacheService;
+    private final ResponseCacheService responseCacheService;
+    private final Logger log = LoggerFactory.getLogger(JobExpiryService.class);
+
+    private final Timer runTimer;
+    private final DistributionSummary rowsPerRun;
+
+    @Value("${job-expiry.chunk-size:500}")
+    private int chunkSize;
+
+    public JobExpiryService(JobRepository jobRepository, JobSearchService jobSearchService,
+            JobBitmapIndexService jobBitmapIndexService, EntityCacheService entityCacheService,
+            ResponseCacheService responseCacheService, MeterRegistry meterRegistry) {
+        this.jobRepository = jobRepository;
+        this.jobSearchService = jobSearchService;
+        this.jobBitmapIndexService = jobBitmapIndexService;
+        this.entityCacheService = entityCacheService;
+        this.responseCacheService = responseCacheService;
+        this.runTimer = Timer.builder("job.expiry.duration").register(meterRegistry);
+        this.rowsPerRun = DistributionSummary.builder("job.expiry.rows").baseUnit("rows").register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${job-expiry.cron:0 */5 * * * *}")
+    public void expireJobs() {
+        long start = System.nanoTime();
+        Instant now = Instant.now();
+        int touched = 0;
+
+        List<Long> ids;
+        do {
+            // Deactivated rows leave the index range => always the first chunk
+            ids = this.jobRepository.findExpiredActiveJobIds(now, PageRequest.of(0, this.chunkSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            touched += this.jobRepository.deactivateByIdIn(ids, now);
+
+            this.jobBitmapIndexService.handleDeactivateJobs(ids);
+            for (Long id : ids) {
+                this.jobSearchService.handleRemoveJob(id);
+                this.entityCacheService.evictJob(id);
+            }
+        } while (ids.size() == this.chunkSize);
+
+        if (touched > 0) {
+            this.responseCacheService.handleEntityChanged(CachedEntityTypeEnum.JOB);
+        }
+        long duration = System.nanoTime() - start;
+        this.runTimer.record(duration, TimeUnit.NANOSECONDS);
+        this.rowsPerRun.record(touched);
+        if (touched > 0) {
+            log.info(">>> Job expiry: {} jobs deactivated in {} ms", touched, duration / 1_000_000);
+        }
+    }
+}
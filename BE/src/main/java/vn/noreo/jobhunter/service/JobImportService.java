@@ -0,0 +1,352 @@
+package vn.noreo.jobhunter.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import vn.noreo.jobhunter.domain.Company;
+import vn.noreo.jobhunter.domain.Job;
+import vn.noreo.jobhunter.domain.Skill;
+import vn.noreo.jobhunter.domain.request.ReqImportJobDTO;
+import vn.noreo.jobhunter.domain.response.job.ResImportJobDTO;
+import vn.noreo.jobhunter.repository.CompanyRepository;
+import vn.noreo.jobhunter.repository.JobImportBatchRepository;
+import vn.noreo.jobhunter.repository.SkillRepository;
+import vn.noreo.jobhunter.util.CsvReader;
+import vn.noreo.jobhunter.util.SecurityUtil;
+import vn.noreo.jobhunter.util.constant.CachedEntityTypeEnum;
+import vn.noreo.jobhunter.util.constant.LevelEnum;
+
+// Bulk job import (NDJSON or CSV), read as a stream: companies and skills are
+// resolved from maps loaded once per import, valid rows are inserted by JDBC
+// batches, one transaction per chunk. A failed chunk is rolled back and
+// reported, the next chunks still run
+@Service
+public class JobImportService {
+
+    // Errors returned in the response, the others are only counted
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    // Column sizes of the jobs table (VARCHAR(255) in characters, MEDIUMTEXT in
+    // bytes): checked per row so one oversized field does not roll back a chunk
+    private static final int MAX_VARCHAR_LENGTH = 255;
+    private static final int MAX_DESCRIPTION_BYTES = 16_777_215;
+
+    private final CompanyRepository companyRepository;
+    private final SkillRepository skillRepository;
+    private final JobImportBatchRepository jobImportBatchRepository;
+    private final JobSearchService jobSearchService;
+    private final JobBitmapIndexService jobBitmapIndexService;
+    private final ResponseCacheService responseCacheService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Logger log = LoggerFactory.getLogger(JobImportService.class);
+
+    @Value("${job-import.chunk-size:2000}")
+    private int chunkSize;
+
+    @Value("${job-import.batch-size:500}")
+    private int batchSize;
+
+    public JobImportService(CompanyRepository companyRepository, SkillRepository skillRepository,
+            JobImportBatchRepository jobImportBatchRepository, JobSearchService jobSearchService,
+            JobBitmapIndexService jobBitmapIndexService, ResponseCacheService responseCacheService,
+            ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.companyRepository = companyRepository;
+        this.skillRepository = skillRepository;
+        this.jobImportBatchRepository = jobImportBatchRepository;
+        this.jobSearchService = jobSearchService;
+        this.jobBitmapIndexService = jobBitmapIndexService;
+        this.responseCacheService = responseCacheService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public ResImportJobDTO handleImportJobs(InputStream inputStream, boolean csv) throws IOException {
+        long start = System.nanoTime();
+        ImportContext context = new ImportContext();
+        for (Object[] row : this.companyRepository.findAllIdAndName()) {
+            context.companies.put((Long) row[0], (String) row[1]);
+        }
+        context.skillIds.addAll(this.skillRepository.findAllIds());
+        context.createdBy = SecurityUtil.getCurrentUserLogin().orElse("");
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        if (csv) {
+            this.readCsv(reader, context);
+        } else {
+            this.readNdjson(reader, context);
+        }
+        this.flushChunk(context);
+
+        if (context.result.getImported() > 0) {
+            this.responseCacheService.handleEntityChanged(CachedEntityTypeEnum.JOB);
+        }
+        log.info(">>> Job import: {} rows, {} imported, {} failed in {} ms", context.result.getTotal(),
+                context.result.getImported(), context.result.getFailed(), (System.nanoTime() - start) / 1_000_000);
+        return context.result;
+    }
+
+    private void readNdjson(BufferedReader reader, ImportContext context) throws IOException {
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            ReqImportJobDTO row;
+            try {
+                row = this.objectMapper.readValue(line, ReqImportJobDTO.class);
+            } catch (JsonProcessingException e) {
+                this.addRow(context, lineNumber, null, "Invalid JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            this.addRow(context, lineNumber, row, null);
+        }
+    }
+
+    private void readCsv(BufferedReader reader, ImportContext context) {
+        CsvReader csvReader = new CsvReader(reader);
+        List<String> header = this.readRecord(csvReader, context);
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+
+        List<String> record;
+        while ((record = this.readRecord(csvReader, context)) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            ReqImportJobDTO row;
+            try {
+                row = toRow(record, columns);
+            } catch (IllegalArgumentException e) {
+                this.addRow(context, csvReader.getRecordLine(), null, e.getMessage());
+                continue;
+            }
+            this.addRow(context, csvReader.getRecordLine(), row, null);
+        }
+    }
+
+    // null at the end of the input, or when it is malformed (unterminated quote):
+    // the rest cannot be split into records => reported as a row error, the rows
+    // read so far are still imported
+    private List<String> readRecord(CsvReader csvReader, ImportContext context) {
+        try {
+            return csvReader.readRecord();
+        } catch (IOException e) {
+            this.addRow(context, csvReader.getRecordLine(), null, "Invalid CSV: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // row = null => parse error
+    private void addRow(ImportContext context, long line, ReqImportJobDTO row, String parseError) {
+        ResImportJobDTO result = context.result;
+        result.setTotal(result.getTotal() + 1);
+        String error = parseError != null ? parseError : this.validate(row, context);
+        if (error != null) {
+            this.addError(result, line, error);
+            return;
+        }
+
+        context.chunk.add(this.toJob(row, context));
+        context.chunkLines.add(line);
+        if (context.chunk.size() >= this.chunkSize) {
+            this.flushChunk(context);
+        }
+    }
+
+    private String validate(ReqImportJobDTO row, ImportContext context) {
+        if (row.getName() == null || row.getName().isBlank()) {
+            return "Job name is required";
+        }
+        if (row.getLocation() == null || row.getLocation().isBlank()) {
+            return "Job location is required";
+        }
+        if (row.getName().trim().length() > MAX_VARCHAR_LENGTH) {
+            return "Job name is longer than " + MAX_VARCHAR_LENGTH + " characters";
+        }
+        if (row.getLocation().trim().length() > MAX_VARCHAR_LENGTH) {
+            return "Job location is longer than " + MAX_VARCHAR_LENGTH + " characters";
+        }
+        if (row.getDescription() != null
+                && row.getDescription().getBytes(StandardCharsets.UTF_8).length > MAX_DESCRIPTION_BYTES) {
+            return "Job description is longer than " + MAX_DESCRIPTION_BYTES + " bytes";
+        }
+        if (row.getLevel() != null && !row.getLevel().isBlank()) {
+            try {
+                LevelEnum.valueOf(row.getLevel().trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return "Level " + row.getLevel() + " is not supported";
+            }
+        }
+        if (row.getCompanyId() != null && !context.companies.containsKey(row.getCompanyId())) {
+            return "Company with id " + row.getCompanyId() + " not found";
+        }
+        if (row.getSkillIds() != null) {
+            for (Long skillId : row.getSkillIds()) {
+                if (skillId == null || !context.skillIds.contains(skillId)) {
+                    return "Skill with id " + skillId + " not found";
+                }
+            }
+        }
+        if (row.getStartDate() != null && row.getEndDate() != null && row.getEndDate().isBefore(row.getStartDate())) {
+            return "End date is before start date";
+        }
+        return null;
+    }
+
+    // Company/skills are id-only stubs (+ company name for the search index)
+    private Job toJob(ReqImportJobDTO row, ImportContext context) {
+        Job job = new Job();
+        job.setName(row.getName().trim());
+        job.setLocation(row.getLocation().trim());
+        job.setSalary(row.getSalary());
+        job.setQuantity(row.getQuantity());
+        if (row.getLevel() != null && !row.getLevel().isBlank()) {
+            job.setLevel(LevelEnum.valueOf(row.getLevel().trim().toUpperCase(Locale.ROOT)));
+        }
+        job.setDescription(row.getDescription());
+        job.setStartDate(row.getStartDate());
+        job.setEndDate(row.getEndDate());
+        job.setActive(row.isActive());
+        if (row.getCompanyId() != null) {
+            Company company = new Company();
+            company.setId(row.getCompanyId());
+            company.setName(context.companies.get(row.getCompanyId()));
+            job.setCompany(company);
+        }
+        if (row.getSkillIds() != null) {
+            List<Skill> skills = new ArrayList<>();
+            row.getSkillIds().stream().distinct().forEach(skillId -> {
+                Skill skill = new Skill();
+                skill.setId(skillId);
+                skills.add(skill);
+            });
+            job.setSkills(skills);
+        }
+        job.setCreatedAt(Instant.now());
+        job.setCreatedBy(context.createdBy);
+        return job;
+    }
+
+    private void flushChunk(ImportContext context) {
+        List<Job> chunk = context.chunk;
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            this.transactionTemplate.executeWithoutResult(status -> {
+                for (int from = 0; from < chunk.size(); from += this.batchSize) {
+                    this.jobImportBatchRepository.insertJobs(
+                            chunk.subList(from, Math.min(from + this.batchSize, chunk.size())));
+                }
+            });
+            // Committed => visible in the in-memory indexes
+            for (Job job : chunk) {
+                this.jobBitmapIndexService.handleIndexJob(job);
+                this.jobSearchService.handleIndexJob(job);
+            }
+            context.result.setImported(context.result.getImported() + chunk.size());
+        } catch (RuntimeException e) {
+            log.error(">>> Job import chunk failed: {}", e.getMessage());
+            for (Long line : context.chunkLines) {
+                this.addError(context.result, line, "Chunk rolled back: " + e.getMessage());
+            }
+        }
+        chunk.clear();
+        context.chunkLines.clear();
+    }
+
+    private void addError(ResImportJobDTO result, long line, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new ResImportJobDTO.RowError(line, message));
+        }
+    }
+
+    private static ReqImportJobDTO toRow(List<String> record, Map<String, Integer> columns) {
+        ReqImportJobDTO row = new ReqImportJobDTO();
+        row.setName(column(record, columns, "name"));
+        row.setLocation(column(record, columns, "location"));
+        row.setLevel(column(record, columns, "level"));
+        row.setDescription(column(record, columns, "description"));
+        try {
+            String salary = column(record, columns, "salary");
+            row.setSalary(salary != null ? Double.parseDouble(salary) : 0);
+            String quantity = column(record, columns, "quantity");
+            row.setQuantity(quantity != null ? Integer.parseInt(quantity) : 0);
+            String companyId = column(record, columns, "companyid");
+            row.setCompanyId(companyId != null ? Long.valueOf(companyId) : null);
+            String skillIds = column(record, columns, "skillids");
+            if (skillIds != null) {
+                List<Long> ids = new ArrayList<>();
+                for (String skillId : skillIds.split(";")) {
+                    if (!skillId.isBlank()) {
+                        ids.add(Long.valueOf(skillId.trim()));
+                    }
+                }
+                row.setSkillIds(ids);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number: " + e.getMessage());
+        }
+        try {
+            String startDate = column(record, columns, "startdate");
+            row.setStartDate(startDate != null ? Instant.parse(startDate) : null);
+            String endDate = column(record, columns, "enddate");
+            row.setEndDate(endDate != null ? Instant.parse(endDate) : null);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date (ISO-8601 expected): " + e.getParsedString());
+        }
+        String active = column(record, columns, "active");
+        row.setActive(active == null || Boolean.parseBoolean(active));
+        return row;
+    }
+
+    // null when the column is missing or empty
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static class ImportContext {
+        private final Map<Long, String> companies = new HashMap<>();
+        private final Set<Long> skillIds = new HashSet<>();
+        private final List<Job> chunk = new ArrayList<>();
+        private final List<Long> chunkLines = new ArrayList<>();
+        private final ResImportJobDTO result = new ResImportJobDTO();
+        private String createdBy;
+    }
+}
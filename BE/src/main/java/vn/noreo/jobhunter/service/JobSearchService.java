@@ -0,0 +1,76 @@
+package vn.noreo.jobhunter.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import vn.noreo.jobhunter.domain.Job;
+import vn.noreo.jobhunter.repository.JobRepository;
+import vn.noreo.jobhunter.util.search.InvertedIndex;
+
+// Full-text index over job name, company name, location and description. Built
+// on startup, then kept up to date by JobService/CompanyService
+@Service
+public class JobSearchService {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+    // name, company name, location, description
+    private static final float[] FIELD_WEIGHTS = { 3f, 2f, 1.5f, 1f };
+
+    private final JobRepository jobRepository;
+    private final Logger log = LoggerFactory.getLogger(JobSearchService.class);
+
+    private final InvertedIndex index = new InvertedIndex();
+
+    public JobSearchService(JobRepository jobRepository) {
+        this.jobRepository = jobRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        long start = System.nanoTime();
+        Pageable pageable = PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id"));
+        Slice<Job> slice;
+        do {
+            slice = this.jobRepository.findAllWithCompany(pageable);
+            slice.forEach(this::handleIndexJob);
+            pageable = slice.nextPageable();
+        } while (slice.hasNext());
+        log.info(">>> Job search index built: {} jobs in {} ms", this.index.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Only active jobs are searchable
+    public void handleIndexJob(Job job) {
+        if (!job.isActive()) {
+            this.index.remove(job.getId());
+            return;
+        }
+        String companyName = job.getCompany() != null ? job.getCompany().getName() : null;
+        this.index.index(job.getId(),
+                new String[] { job.getName(), companyName, job.getLocation(), job.getDescription() },
+                FIELD_WEIGHTS);
+    }
+
+    public void handleRemoveJob(long id) {
+        this.index.remove(id);
+    }
+
+    // Company name is part of every job document of the company
+    public void handleReindexCompanyJobs(long companyId) {
+        this.jobRepository.findByCompanyId(companyId).forEach(this::handleIndexJob);
+    }
+
+    // Job ids, best match first
+    public List<InvertedIndex.SearchHit> search(String query) {
+        return this.index.search(query);
+    }
+}
@@ -1,23 +1,41 @@
 package vn.noreo.jobhunter.service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import vn.noreo.jobhunter.domain.Company;
 import vn.noreo.jobhunter.domain.Job;
 import vn.noreo.jobhunter.domain.Skill;
 import vn.noreo.jobhunter.domain.response.ResultPaginationDTO;
 import vn.noreo.jobhunter.domain.response.job.ResCreateJobDTO;
+import vn.noreo.jobhunter.domain.response.job.ResJobFacetsDTO;
+import vn.noreo.jobhunter.domain.response.job.ResJobSummaryDTO;
 import vn.noreo.jobhunter.domain.response.job.ResUpdateJobDTO;
 import vn.noreo.jobhunter.repository.CompanyRepository;
 import vn.noreo.jobhunter.repository.JobRepository;
+import vn.noreo.jobhunter.repository.PageIdQueryExecutor;
+import vn.noreo.jobhunter.repository.ResumeRepository;
 import vn.noreo.jobhunter.repository.SkillRepository;
+import vn.noreo.jobhunter.util.constant.CachedEntityTypeEnum;
+import vn.noreo.jobhunter.util.constant.CountStrategyEnum;
+import vn.noreo.jobhunter.util.constant.LevelEnum;
+import vn.noreo.jobhunter.util.search.InvertedIndex;
+import vn.noreo.jobhunter.util.error.IdInvalidException;
 
 @Service
 public class JobService {
@@ -25,18 +43,46 @@ public class JobService {
     private final JobRepository jobRepository;
     private final SkillRepository skillRepository;
     private final CompanyRepository companyRepository;
+    private final PageIdQueryExecutor pageIdQueryExecutor;
+    private final PaginationService paginationService;
+    private final JobSearchService jobSearchService;
+    private final JobBitmapIndexService jobBitmapIndexService;
+    private final EntityCacheService entityCacheService;
+    private final ResponseCacheService responseCacheService;
+    private final JobCounterService jobCounterService;
+    private final ResumeRepository resumeRepository;
+    private final int maxInList;
 
     public JobService(JobRepository jobRepository, SkillRepository skillRepository,
-            CompanyRepository companyRepository) {
+            CompanyRepository companyRepository, PageIdQueryExecutor pageIdQueryExecutor,
+            PaginationService paginationService, JobSearchService jobSearchService,
+            JobBitmapIndexService jobBitmapIndexService, EntityCacheService entityCacheService,
+            ResponseCacheService responseCacheService, JobCounterService jobCounterService,
+            ResumeRepository resumeRepository, @Value("${job-filter.max-in-list:1000}") int maxInList) {
         this.skillRepository = skillRepository;
         this.jobRepository = jobRepository;
         this.companyRepository = companyRepository;
+        this.pageIdQueryExecutor = pageIdQueryExecutor;
+        this.paginationService = paginationService;
+        this.jobSearchService = jobSearchService;
+        this.jobBitmapIndexService = jobBitmapIndexService;
+        this.entityCacheService = entityCacheService;
+        this.responseCacheService = responseCacheService;
+        this.jobCounterService = jobCounterService;
+        this.resumeRepository = resumeRepository;
+        this.maxInList = maxInList;
     }
 
     public Optional<Job> handleFetchJobById(long id) {
         return this.jobRepository.findById(id);
     }
 
+    // Job detail page (read-only): cached with company and skills, null = not found
+    public EntityCacheService.CachedEntity<Job> handleFetchCachedJobById(long id) {
+        return this.entityCacheService.getJob(id, () -> this.jobRepository
+                .findAllWithCompanyAndSkillsByIdIn(List.of(id)).stream().findFirst().orElse(null));
+    }
+
     public ResCreateJobDTO handleCreateJob(Job newJob) {
 
         // Check skill exists
@@ -58,6 +104,9 @@ public class JobService {
 
         // Create new job
         Job currentJob = this.jobRepository.save(newJob);
+        this.responseCacheService.handleEntityChanged(CachedEntityTypeEnum.JOB);
+        this.jobSearchService.handleIndexJob(currentJob);
+        this.jobBitmapIndexService.handleIndexJob(currentJob);
 
         // Convert to DTO
         ResCreateJobDTO jobDTO = new ResCreateJobDTO();
@@ -95,6 +144,7 @@ public class JobService {
         }
 
         // Check company
+        Long previousCompanyId = dbJob.getCompany() != null ? dbJob.getCompany().getId() : null;
         if (updatedJob.getCompany() != null) {
             Optional<Company> companyOptional = this.companyRepository.findById(updatedJob.getCompany().getId());
             if (companyOptional.isPresent()) {
@@ -114,6 +164,14 @@ public class JobService {
 
         // Update job
         dbJob = this.jobRepository.save(dbJob);
+        Long companyId = dbJob.getCompany() != null ? dbJob.getCompany().getId() : null;
+        if (!Objects.equals(previousCompanyId, companyId)) {
+            this.resumeRepository.updateCompanyIdByJobId(dbJob.getId(), companyId);
+        }
+        this.entityCacheService.evictJob(dbJob.getId());
+        this.responseCacheService.handleEntityChanged(CachedEntityTypeEnum.JOB);
+        this.jobSearchService.handleIndexJob(dbJob);
+        this.jobBitmapIndexService.handleIndexJob(dbJob);
 
         // Convert to DTO
         ResUpdateJobDTO jobDTO = new ResUpdateJobDTO();
@@ -141,22 +199,199 @@ public class JobService {
 
     public void handleDeleteJob(long id) {
         this.jobRepository.deleteById(id);
+        this.entityCacheService.evictJob(id);
+        this.responseCacheService.handleEntityChanged(CachedEntityTypeEnum.JOB);
+        this.jobSearchService.handleRemoveJob(id);
+        this.jobBitmapIndexService.handleRemoveJob(id);
+        this.jobCounterService.handleRemoveJob(id);
+    }
+
+    // Constant number of queries per page whatever the page size: ids page (+
+    // count depending on the strategy), then one fetch-join query for company and
+    // skills
+    public ResultPaginationDTO handleFetchAllJobs(Specification<Job> specification, Pageable pageable,
+            CountStrategyEnum countStrategy, String countCacheKey) throws IdInvalidException {
+        PaginationService.ResultPage<Long> idPage = this.paginationService.findIdPage(Job.class, specification,
+                pageable, countStrategy, countCacheKey);
+        List<ResJobSummaryDTO> jobs = this.fetchJobSummariesInOrder(idPage.getContent());
+
+        ResultPaginationDTO resultPaginationDTO = new ResultPaginationDTO();
+        ResultPaginationDTO.Meta meta = new ResultPaginationDTO.Meta();
+
+        this.paginationService.fillMeta(meta, pageable, idPage);
+
+        resultPaginationDTO.setMeta(meta);
+
+        resultPaginationDTO.setResult(jobs);
+        return resultPaginationDTO;
+    }
+
+    // Cursor mode (?cursor=, empty for the first page): no offset, no count
+    public ResultPaginationDTO handleFetchJobsByCursor(Specification<Job> specification, Pageable pageable,
+            String cursor) throws IdInvalidException {
+        PageIdQueryExecutor.KeysetIds keysetIds = this.pageIdQueryExecutor.findKeysetIds(Job.class, specification,
+                pageable.getSort(), pageable.getPageSize(), cursor);
+
+        ResultPaginationDTO resultPaginationDTO = new ResultPaginationDTO();
+        ResultPaginationDTO.Meta meta = new ResultPaginationDTO.Meta();
+
+        meta.setPageSize(pageable.getPageSize());
+        meta.setNext(keysetIds.getNext());
+        meta.setPrev(keysetIds.getPrev());
+        meta.setHasNext(keysetIds.getNext() != null);
+
+        resultPaginationDTO.setMeta(meta);
+
+        resultPaginationDTO.setResult(this.fetchJobSummariesInOrder(keysetIds.getIds()));
+        return resultPaginationDTO;
+    }
+
+    // ?active= / ?level= are plain column predicates, only ?skills= goes through
+    // the bitmap index ("id in (...)" instead of a join on job_skill). Above
+    // maxInList ids the skills are matched by a job_skill subquery instead
+    public Specification<Job> buildIndexedJobSpecification(List<Long> skillIds, boolean matchAll, Boolean active,
+            LevelEnum level) {
+        Specification<Job> specification = (root, query, cb) -> cb.and(
+                active != null ? cb.equal(root.get("active"), active) : cb.conjunction(),
+                level != null ? cb.equal(root.get("level"), level) : cb.conjunction());
+        if (skillIds == null || skillIds.isEmpty()) {
+            return specification;
+        }
+        long[] jobIds = this.jobBitmapIndexService.findJobIds(skillIds, matchAll, null, null);
+        if (jobIds.length == 0) {
+            return (root, query, cb) -> cb.disjunction();
+        }
+        if (jobIds.length > this.maxInList) {
+            return specification.and(this.buildSkillSubquerySpecification(skillIds, matchAll));
+        }
+        List<Long> ids = Arrays.stream(jobIds).boxed().collect(Collectors.toList());
+        return specification.and((root, query, cb) -> root.get("id").in(ids));
+    }
+
+    // id in (select job_id from job_skill where skill_id in (...) [group by job_id
+    // having count(distinct skill_id) = n])
+    private Specification<Job> buildSkillSubquerySpecification(List<Long> skillIds, boolean matchAll) {
+        List<Long> distinctSkillIds = skillIds.stream().distinct().collect(Collectors.toList());
+        return (root, query, cb) -> {
+            Subquery<Long> subquery = query.subquery(Long.class);
+            Root<Job> subRoot = subquery.from(Job.class);
+            Join<Job, Skill> skill = subRoot.join("skills");
+            subquery.select(subRoot.get("id")).where(skill.get("id").in(distinctSkillIds));
+            if (matchAll) {
+                subquery.groupBy(subRoot.get("id"))
+                        .having(cb.equal(cb.countDistinct(skill.get("id")), (long) distinctSkillIds.size()));
+            }
+            return root.get("id").in(subquery);
+        };
+    }
+
+    // Facet counts of the active jobs matching the filter and the indexed criteria,
+    // all facets in one call. The filter (if any) is resolved to ids by one id
+    // query narrowed to the facet base (active, level, skills) in SQL, the counts
+    // themselves come from the bitmap index
+    public ResJobFacetsDTO handleFetchJobFacets(Specification<Job> specification, List<Long> skillIds,
+            boolean matchAll, LevelEnum level) {
+        long[] filteredJobIds = null;
+        if (specification != null) {
+            Specification<Job> narrowed = this.buildIndexedJobSpecification(skillIds, matchAll, true, level)
+                    .and(specification);
+            filteredJobIds = this.pageIdQueryExecutor.findPageIds(Job.class, narrowed, Pageable.unpaged())
+                    .stream().mapToLong(Long::longValue).toArray();
+        }
+        JobBitmapIndexService.FacetCounts counts = this.jobBitmapIndexService.computeFacets(skillIds, matchAll,
+                level, filteredJobIds);
+
+        // Names of the companies/skills present in the counts only
+        Map<Long, String> companyNames = this.companyRepository.findAllById(counts.getCompanies().keySet())
+                .stream().collect(Collectors.toMap(Company::getId, Company::getName));
+        Map<Long, String> skillNames = this.skillRepository.findAllById(counts.getSkills().keySet())
+                .stream().collect(Collectors.toMap(Skill::getId, Skill::getName));
+
+        ResJobFacetsDTO resJobFacetsDTO = new ResJobFacetsDTO();
+        resJobFacetsDTO.setTotal(counts.getTotal());
+        resJobFacetsDTO.setLevels(counts.getLevels().entrySet().stream()
+                .map(entry -> new ResJobFacetsDTO.LevelFacet(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList()));
+        resJobFacetsDTO.setLocations(counts.getLocations().entrySet().stream()
+                .map(entry -> new ResJobFacetsDTO.ValueFacet(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList()));
+        resJobFacetsDTO.setCompanies(counts.getCompanies().entrySet().stream()
+                .filter(entry -> companyNames.containsKey(entry.getKey()))
+                .map(entry -> new ResJobFacetsDTO.NamedFacet(entry.getKey(), companyNames.get(entry.getKey()),
+                        entry.getValue()))
+                .collect(Collectors.toList()));
+        resJobFacetsDTO.setSkills(counts.getSkills().entrySet().stream()
+                .filter(entry -> skillNames.containsKey(entry.getKey()))
+                .map(entry -> new ResJobFacetsDTO.NamedFacet(entry.getKey(), skillNames.get(entry.getKey()),
+                        entry.getValue()))
+                .collect(Collectors.toList()));
+        return resJobFacetsDTO;
     }
 
-    public ResultPaginationDTO handleFetchAllJobs(Specification<Job> specification, Pageable pageable) {
-        Page<Job> jobPage = this.jobRepository.findAll(specification, pageable);
+    // Full-text search (name, company, location, description), ranked by BM25
+    public ResultPaginationDTO handleSearchJobs(String query, Pageable pageable) {
+        List<InvertedIndex.SearchHit> hits = this.jobSearchService.search(query);
+        int from = (int) Math.min(pageable.getOffset(), hits.size());
+        int to = Math.min(from + pageable.getPageSize(), hits.size());
+        List<Long> ids = hits.subList(from, to).stream()
+                .map(InvertedIndex.SearchHit::key)
+                .collect(Collectors.toList());
 
         ResultPaginationDTO resultPaginationDTO = new ResultPaginationDTO();
         ResultPaginationDTO.Meta meta = new ResultPaginationDTO.Meta();
 
         meta.setPage(pageable.getPageNumber() + 1);
         meta.setPageSize(pageable.getPageSize());
-        meta.setPages(jobPage.getTotalPages());
-        meta.setTotal(jobPage.getTotalElements());
+        meta.setPages((int) Math.ceil((double) hits.size() / pageable.getPageSize()));
+        meta.setTotal(hits.size());
+        meta.setHasNext(to < hits.size());
 
         resultPaginationDTO.setMeta(meta);
 
-        resultPaginationDTO.setResult(jobPage.getContent());
+        resultPaginationDTO.setResult(this.fetchJobSummariesInOrder(ids));
         return resultPaginationDTO;
     }
-}
\ No newline at end of file
+
+    // Listing rows without the description: two narrow queries (summary columns,
+    // then skill names) instead of whole entities. "in (...)" does not keep the
+    // order of the ids page
+    private List<ResJobSummaryDTO> fetchJobSummariesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, List<ResJobSummaryDTO.SkillJob>> skillsByJobId = new HashMap<>();
+        for (Object[] row : this.jobRepository.findSkillNamesByJobIdIn(ids)) {
+            skillsByJobId.computeIfAbsent((Long) row[0], key -> new ArrayList<>())
+                    .add(new ResJobSummaryDTO.SkillJob((Long) row[1], (String) row[2]));
+        }
+        Map<Long, ResJobSummaryDTO> jobsById = this.jobRepository.findSummariesByIdIn(ids).stream()
+                .map(view -> this.convertToResJobSummaryDTO(view,
+                        skillsByJobId.getOrDefault(view.getId(), new ArrayList<>())))
+                .collect(Collectors.toMap(ResJobSummaryDTO::getId, Function.identity()));
+        return ids.stream().map(jobsById::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    private ResJobSummaryDTO convertToResJobSummaryDTO(JobRepository.JobSummaryView view,
+            List<ResJobSummaryDTO.SkillJob> skills) {
+        ResJobSummaryDTO res = new ResJobSummaryDTO();
+        res.setId(view.getId());
+        res.setName(view.getName());
+        res.setLocation(view.getLocation());
+        res.setSalary(view.getSalary());
+        res.setQuantity(view.getQuantity());
+        res.setLevel(view.getLevel());
+        res.setStartDate(view.getStartDate());
+        res.setEndDate(view.getEndDate());
+        res.setActive(view.isActive());
+        res.setCreatedAt(view.getCreatedAt());
+        res.setUpdatedAt(view.getUpdatedAt());
+        res.setCreatedBy(view.getCreatedBy());
+        res.setUpdatedBy(view.getUpdatedBy());
+        if (view.getCompanyId() != null) {
+            res.setCompany(new ResJobSummaryDTO.CompanyJob(view.getCompanyId(), view.getCompanyName(),
+                    view.getCompanyLogo()));
+        }
+        res.setSkills(skills);
+        return res;
+    }
+}
@@ -0,0 +1,197 @@
+package vn.noreo.jobhunter.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import vn.noreo.jobhunter.domain.response.ResultPaginationDTO;
+import vn.noreo.jobhunter.repository.PageIdQueryExecutor;
+import vn.noreo.jobhunter.util.SortableProperties;
+import vn.noreo.jobhunter.util.constant.CountStrategyEnum;
+import vn.noreo.jobhunter.util.error.IdInvalidException;
+
+// Offset pagination with a per-request count strategy. Every strategy but EXACT
+// reads pageSize + 1 rows instead of running a count: the extra row gives
+// hasNext, and on the last page the total is known for free
+@Service
+public class PaginationService {
+
+    private final EntityManager entityManager;
+    private final PageIdQueryExecutor pageIdQueryExecutor;
+
+    // CountCacheKey ("Job|...|filter") -> count, "estimate:jobs" -> table_rows
+    private final Map<String, CachedCount> countCache = new ConcurrentHashMap<>();
+
+    @Value("${pagination.count-cache-ttl-seconds:60}")
+    private long countCacheTtlSeconds;
+
+    @Value("${pagination.count-cache-max-entries:1000}")
+    private int countCacheMaxEntries;
+
+    public PaginationService(EntityManager entityManager, PageIdQueryExecutor pageIdQueryExecutor) {
+        this.entityManager = entityManager;
+        this.pageIdQueryExecutor = pageIdQueryExecutor;
+    }
+
+    public <T> ResultPage<T> findPage(JpaSpecificationExecutor<T> repository, Class<T> domainClass,
+            Specification<T> specification, Pageable pageable, CountStrategyEnum countStrategy,
+            String countCacheKey) throws IdInvalidException {
+        SortableProperties.check(domainClass, pageable.getSort());
+        if (countStrategy == CountStrategyEnum.EXACT || pageable.isUnpaged()) {
+            Page<T> page = repository.findAll(specification, pageable);
+            return new ResultPage<>(page.getContent(), page.getTotalElements(), page.hasNext());
+        }
+
+        // Offset scroll: limit + 1 rows, no count query
+        ScrollPosition position = pageable.getOffset() == 0 ? ScrollPosition.offset()
+                : ScrollPosition.offset(pageable.getOffset() - 1);
+        Window<T> window = repository.findBy(Specification.where(specification), query -> query
+                .sortBy(pageable.getSort())
+                .limit(pageable.getPageSize())
+                .scroll(position));
+        List<T> content = window.getContent();
+        Long total = this.resolveTotal(domainClass, specification, pageable, content.size(), window.hasNext(),
+                countStrategy, countCacheKey);
+        return new ResultPage<>(content, total, window.hasNext());
+    }
+
+    // Same as findPage for listings loaded in two phases (ids, then fetch joins)
+    public <T> ResultPage<Long> findIdPage(Class<T> domainClass, Specification<T> specification, Pageable pageable,
+            CountStrategyEnum countStrategy, String countCacheKey) throws IdInvalidException {
+        return this.findRowPage(domainClass, specification, pageable, countStrategy, countCacheKey,
+                () -> this.pageIdQueryExecutor.findPageIds(domainClass, specification, pageable));
+    }
+
+    // Same for listings read as projected rows: rowQuery returns up to pageSize + 1
+    // rows of the page. countCacheKey (see CountCacheKey) identifies the
+    // Specification for ?count=cached, null => counted every time
+    public <T, R> ResultPage<R> findRowPage(Class<T> domainClass, Specification<T> specification,
+            Pageable pageable, CountStrategyEnum countStrategy, String countCacheKey, Supplier<List<R>> rowQuery)
+            throws IdInvalidException {
+        SortableProperties.check(domainClass, pageable.getSort());
+        List<R> rows = rowQuery.get();
+        boolean hasNext = pageable.isPaged() && rows.size() > pageable.getPageSize();
+        if (hasNext) {
+            rows = rows.subList(0, pageable.getPageSize());
+        }
+        Long total = countStrategy == CountStrategyEnum.EXACT && hasNext
+                ? Long.valueOf(this.pageIdQueryExecutor.count(domainClass, specification))
+                : this.resolveTotal(domainClass, specification, pageable, rows.size(), hasNext, countStrategy,
+                        countCacheKey);
+        return new ResultPage<>(rows, total, hasNext);
+    }
+
+    public void fillMeta(ResultPaginationDTO.Meta meta, Pageable pageable, ResultPage<?> resultPage) {
+        meta.setPage(pageable.getPageNumber() + 1);
+        meta.setPageSize(pageable.getPageSize());
+        meta.setHasNext(resultPage.isHasNext());
+        // Unknown total (count=none) => pages, total = 0
+        if (resultPage.getTotal() != null) {
+            meta.setTotal(resultPage.getTotal());
+            meta.setPages(pageable.getPageSize() > 0
+                    ? (int) Math.ceil((double) resultPage.getTotal() / pageable.getPageSize())
+                    : 1);
+        }
+    }
+
+    private <T> Long resolveTotal(Class<T> domainClass, Specification<T> specification, Pageable pageable,
+            int contentSize, boolean hasNext, CountStrategyEnum countStrategy, String countCacheKey) {
+        long seen = (pageable.isPaged() ? pageable.getOffset() : 0) + contentSize;
+        // Last page => exact total without counting
+        if (!hasNext && (contentSize > 0 || seen == 0)) {
+            return seen;
+        }
+
+        switch (countStrategy) {
+            case NONE:
+                return null;
+            case ESTIMATED:
+                // Table statistics only describe the unfiltered table
+                if (specification == null) {
+                    Long estimate = this.estimateRowCount(domainClass);
+                    if (estimate != null) {
+                        return Math.max(estimate, seen + (hasNext ? 1 : 0));
+                    }
+                }
+                return this.cachedCount(domainClass, specification, countCacheKey);
+            case CACHED:
+                return this.cachedCount(domainClass, specification, countCacheKey);
+            default:
+                return this.pageIdQueryExecutor.count(domainClass, specification);
+        }
+    }
+
+    private <T> long cachedCount(Class<T> domainClass, Specification<T> specification, String countCacheKey) {
+        if (countCacheKey == null) {
+            return this.pageIdQueryExecutor.count(domainClass, specification);
+        }
+        return this.getOrCompute(countCacheKey, () -> this.pageIdQueryExecutor.count(domainClass, specification));
+    }
+
+    // InnoDB table_rows: approximate, but read from metadata (no scan)
+    private Long estimateRowCount(Class<?> domainClass) {
+        Table table = domainClass.getAnnotation(Table.class);
+        if (table == null || table.name().isEmpty()) {
+            return null;
+        }
+        long rows = this.getOrCompute("estimate:" + table.name(), () -> {
+            List<?> tableRows = this.entityManager.createNativeQuery(
+                    "select table_rows from information_schema.tables "
+                            + "where table_schema = database() and table_name = :tableName")
+                    .setParameter("tableName", table.name())
+                    .getResultList();
+            return !tableRows.isEmpty() && tableRows.get(0) instanceof Number number ? number.longValue() : -1L;
+        });
+        return rows >= 0 ? rows : null;
+    }
+
+    private long getOrCompute(String key, LongSupplier supplier) {
+        Instant now = Instant.now();
+        CachedCount cached = this.countCache.get(key);
+        if (cached != null && cached.getExpiresAt().isAfter(now)) {
+            return cached.getCount();
+        }
+
+        if (this.countCache.size() >= this.countCacheMaxEntries) {
+            this.countCache.values().removeIf(entry -> !entry.getExpiresAt().isAfter(now));
+            if (this.countCache.size() >= this.countCacheMaxEntries) {
+                this.countCache.clear();
+            }
+        }
+        long count = supplier.getAsLong();
+        this.countCache.put(key, new CachedCount(count, now.plusSeconds(this.countCacheTtlSeconds)));
+        return count;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ResultPage<T> {
+        private final List<T> content;
+        // null => unknown (count=none)
+        private final Long total;
+        private final boolean hasNext;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class CachedCount {
+        private final long count;
+        private final Instant expiresAt;
+    }
+}
@@ -0,0 +1,148 @@
+package vn.noreo.jobhunter.service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import vn.noreo.jobhunter.config.EndpointRegistry;
+import vn.noreo.jobhunter.domain.Permission;
+import vn.noreo.jobhunter.domain.Role;
+import vn.noreo.jobhunter.repository.RoleRepository;
+import vn.noreo.jobhunter.util.CurrentUserSnapshot;
+import vn.noreo.jobhunter.util.SecurityUtil;
+
+@Service
+public class PermissionMatrixService {
+
+    private final RoleRepository roleRepository;
+    private final EndpointRegistry endpointRegistry;
+    private final UserTokenVersionService userTokenVersionService;
+    private final Logger log = LoggerFactory.getLogger(PermissionMatrixService.class);
+
+    // Compiled snapshot, replaced as a whole on every rebuild (readers never see a
+    // half-built matrix)
+    private volatile PermissionMatrix matrix = PermissionMatrix.EMPTY;
+
+    public PermissionMatrixService(RoleRepository roleRepository, EndpointRegistry endpointRegistry,
+            UserTokenVersionService userTokenVersionService) {
+        this.roleRepository = roleRepository;
+        this.endpointRegistry = endpointRegistry;
+        this.userTokenVersionService = userTokenVersionService;
+    }
+
+    // Build after DatabaseInitializer has seeded permissions and roles
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        this.rebuild();
+    }
+
+    public boolean isAllowed(long roleId, int endpointId) {
+        return this.matrix.isAllowed(roleId, endpointId);
+    }
+
+    // Explicit check for endpoints under a path excluded from PermissionInterceptor:
+    // does the current user's role (token, current role and user versions) hold
+    // the permission of (method, apiPath)
+    public boolean isCurrentUserAllowed(String httpMethod, String apiPath) {
+        Optional<CurrentUserSnapshot> currentUserOpt = SecurityUtil.getCurrentUserSnapshot();
+        if (currentUserOpt.isEmpty()) {
+            return false;
+        }
+        Long roleId = currentUserOpt.get().getRoleId();
+        Long permissionVersion = currentUserOpt.get().getPermissionVersion();
+        if (roleId == null || permissionVersion == null || !this.isCurrentVersion(roleId, permissionVersion)) {
+            return false;
+        }
+        Long userId = currentUserOpt.get().getId();
+        Long tokenVersion = currentUserOpt.get().getTokenVersion();
+        if (userId == null || tokenVersion == null
+                || !this.userTokenVersionService.isCurrentVersion(userId, tokenVersion)) {
+            return false;
+        }
+        return this.isAllowed(roleId, this.endpointRegistry.getId(httpMethod, apiPath));
+    }
+
+    // A token is current if it carries the latest permission version of its role
+    public boolean isCurrentVersion(long roleId, long permissionVersion) {
+        return this.matrix.getPermissionVersion(roleId) == permissionVersion;
+    }
+
+    // Rebuild once the current transaction commits, or right away if there is none
+    public void scheduleRebuild() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rebuild();
+                }
+            });
+        } else {
+            this.rebuild();
+        }
+    }
+
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        List<Role> roles = this.roleRepository.findAllWithPermissions();
+
+        // One bitset per role, indexed by the endpoint id from the registry
+        int words = (this.endpointRegistry.size() + 63) >>> 6;
+        Map<Long, long[]> roleBits = new HashMap<>();
+        Map<Long, Long> roleVersions = new HashMap<>();
+        for (Role role : roles) {
+            long[] bits = new long[words];
+            if (role.getPermissions() != null) {
+                for (Permission permission : role.getPermissions()) {
+                    int endpointId = this.endpointRegistry.getId(permission.getMethod(), permission.getApiPath());
+                    if (endpointId != EndpointRegistry.UNKNOWN_ENDPOINT) {
+                        bits[endpointId >>> 6] |= 1L << endpointId;
+                    }
+                }
+            }
+            roleBits.put(role.getId(), bits);
+            roleVersions.put(role.getId(), role.getPermissionVersion());
+        }
+
+        this.matrix = new PermissionMatrix(roleBits, roleVersions);
+        log.info(">>> Permission matrix compiled: {} roles, {} endpoints in {} ms", roleBits.size(),
+                this.endpointRegistry.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Immutable lookup structure: role -> bitset of allowed endpoint ids and
+    // permission version
+    private static final class PermissionMatrix {
+
+        static final PermissionMatrix EMPTY = new PermissionMatrix(Collections.emptyMap(), Collections.emptyMap());
+
+        private final Map<Long, long[]> roleBits;
+        private final Map<Long, Long> roleVersions;
+
+        PermissionMatrix(Map<Long, long[]> roleBits, Map<Long, Long> roleVersions) {
+            this.roleBits = roleBits;
+            this.roleVersions = roleVersions;
+        }
+
+        long getPermissionVersion(long roleId) {
+            Long version = this.roleVersions.get(roleId);
+            return version != null ? version : -1;
+        }
+
+        boolean isAllowed(long roleId, int endpointId) {
+            long[] bits = this.roleBits.get(roleId);
+            if (bits == null || endpointId < 0 || (endpointId >>> 6) >= bits.length) {
+                return false;
+            }
+            return (bits[endpointId >>> 6] & (1L << endpointId)) != 0;
+        }
+    }
+}
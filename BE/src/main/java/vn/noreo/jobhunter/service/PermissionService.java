@@ -2,7 +2,6 @@ package vn.noreo.jobhunter.service;
 
 import java.util.Optional;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
@@ -10,15 +9,21 @@ import org.springframework.stereotype.Service;
 import vn.noreo.jobhunter.domain.Permission;
 import vn.noreo.jobhunter.domain.response.ResultPaginationDTO;
 import vn.noreo.jobhunter.repository.PermissionRepository;
+import vn.noreo.jobhunter.util.constant.CountStrategyEnum;
 import vn.noreo.jobhunter.util.error.IdInvalidException;
 
 @Service
 public class PermissionService {
 
     private final PermissionRepository permissionRepository;
+    private final PermissionMatrixService permissionMatrixService;
+    private final PaginationService paginationService;
 
-    public PermissionService(PermissionRepository permissionRepository) {
+    public PermissionService(PermissionRepository permissionRepository,
+            PermissionMatrixService permissionMatrixService, PaginationService paginationService) {
         this.permissionRepository = permissionRepository;
+        this.permissionMatrixService = permissionMatrixService;
+        this.paginationService = paginationService;
     }
 
     public boolean checkPermissionExists(Permission permission) {
@@ -53,25 +58,34 @@ public class PermissionService {
         }
         Permission currentPermission = permissionOptional.get();
 
+        // Endpoint changed => the permission set of every role using it changed too
+        if (!currentPermission.getApiPath().equals(updatedPermission.getApiPath())
+                || !currentPermission.getMethod().equals(updatedPermission.getMethod())) {
+            currentPermission.getRoles().forEach(role -> {
+                role.setPermissionVersion(role.getPermissionVersion() + 1);
+            });
+        }
+
         // Update fields
         currentPermission.setName(updatedPermission.getName());
         currentPermission.setApiPath(updatedPermission.getApiPath());
         currentPermission.setMethod(updatedPermission.getMethod());
         currentPermission.setModule(updatedPermission.getModule());
 
-        return this.permissionRepository.save(currentPermission);
+        currentPermission = this.permissionRepository.save(currentPermission);
+        this.permissionMatrixService.scheduleRebuild();
+        return currentPermission;
     }
 
-    public ResultPaginationDTO handleFetchAllPermissions(Specification<Permission> spec, Pageable pageable) {
-        Page<Permission> permissionPage = this.permissionRepository.findAll(spec, pageable);
+    public ResultPaginationDTO handleFetchAllPermissions(Specification<Permission> spec, Pageable pageable,
+            CountStrategyEnum countStrategy, String countCacheKey) throws IdInvalidException {
+        PaginationService.ResultPage<Permission> permissionPage = this.paginationService.findPage(this.permissionRepository,
+                Permission.class, spec, pageable, countStrategy, countCacheKey);
 
         ResultPaginationDTO resultPaginationDTO = new ResultPaginationDTO();
         ResultPaginationDTO.Meta meta = new ResultPaginationDTO.Meta();
 
-        meta.setPage(pageable.getPageNumber() + 1);
-        meta.setPageSize(pageable.getPageSize());
-        meta.setPages(permissionPage.getTotalPages());
-        meta.setTotal(permissionPage.getTotalElements());
+        this.paginationService.fillMeta(meta, pageable, permissionPage);
 
         resultPaginationDTO.setMeta(meta);
 
@@ -85,10 +99,12 @@ public class PermissionService {
         Permission permission = permissionOptional.get();
         permission.getRoles().forEach(role -> {
             role.getPermissions().remove(permission);
+            role.setPermissionVersion(role.getPermissionVersion() + 1);
         });
 
         // Delete the skill
         this.permissionRepository.delete(permission);
+        this.permissionMatrixService.scheduleRebuild();
     }
 
 }
@@ -0,0 +1,164 @@
+package vn.noreo.jobhunter.service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import vn.noreo.jobhunter.domain.RefreshToken;
+import vn.noreo.jobhunter.repository.RefreshTokenRepository;
+import vn.noreo.jobhunter.util.error.IdInvalidException;
+
+@Service
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    // Recently issued/used tokens (jti -> token). New tokens and "used" marks are
+    // written to the database in batches by flushPendingTokens()
+    private final ConcurrentHashMap<String, RefreshToken> cache = new ConcurrentHashMap<>();
+    private final Set<String> pendingJtis = ConcurrentHashMap.newKeySet();
+
+    @Value("${jwt.refresh-token-validity-in-seconds}")
+    private long refreshTokenExpiration;
+
+    // A token reused within this window is treated as a concurrent refresh (several
+    // tabs), after it as a stolen token
+    @Value("${jwt.refresh-token-reuse-grace-seconds:10}")
+    private long reuseGraceSeconds;
+
+    @Value("${jwt.refresh-token-cache-ttl-seconds:900}")
+    private long cacheTtlSeconds;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository) {
+        this.refreshTokenRepository = refreshTokenRepository;
+    }
+
+    // familyId = null => new login => new family
+    public RefreshToken handleIssueRefreshToken(String email, String familyId) {
+        Instant now = Instant.now();
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setJti(UUID.randomUUID().toString());
+        refreshToken.setFamilyId(familyId != null ? familyId : UUID.randomUUID().toString());
+        refreshToken.setEmail(email);
+        refreshToken.setCreatedAt(now);
+        refreshToken.setExpiresAt(now.plus(this.refreshTokenExpiration, ChronoUnit.SECONDS));
+
+        this.cache.put(refreshToken.getJti(), refreshToken);
+        this.pendingJtis.add(refreshToken.getJti());
+        return refreshToken;
+    }
+
+    // Mark the presented token as used and issue the next token of its family
+    public RefreshToken handleRotateRefreshToken(String jti, String email) throws IdInvalidException {
+        if (jti == null) {
+            throw new IdInvalidException("Refresh token is invalid");
+        }
+
+        // Memory first, then one lookup on the jti index
+        RefreshToken currentToken = this.cache.computeIfAbsent(jti, this.refreshTokenRepository::findByJti);
+        if (currentToken == null || !currentToken.getEmail().equals(email)) {
+            throw new IdInvalidException("Refresh token is invalid");
+        }
+
+        synchronized (currentToken) {
+            if (currentToken.isRevoked()) {
+                throw new IdInvalidException("Refresh token is invalid");
+            }
+
+            Instant now = Instant.now();
+            if (currentToken.getUsedAt() == null) {
+                currentToken.setUsedAt(now);
+                this.pendingJtis.add(jti);
+            } else if (currentToken.getUsedAt().plusSeconds(this.reuseGraceSeconds).isBefore(now)) {
+                // Reuse detected => the whole family is compromised
+                this.handleRevokeFamily(currentToken.getFamilyId());
+                throw new IdInvalidException("Refresh token has already been used, please login again");
+            }
+        }
+        return this.handleIssueRefreshToken(email, currentToken.getFamilyId());
+    }
+
+    // Revocations are written through, not batched
+    public void handleRevokeFamily(String familyId) {
+        this.cache.values().forEach(token -> {
+            if (token.getFamilyId().equals(familyId)) {
+                token.setRevoked(true);
+            }
+        });
+        this.refreshTokenRepository.revokeByFamilyId(familyId);
+    }
+
+    public void handleRevokeAllByEmail(String email) {
+        this.cache.values().forEach(token -> {
+            if (token.getEmail().equals(email)) {
+                token.setRevoked(true);
+            }
+        });
+        this.refreshTokenRepository.revokeByEmail(email);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh-token-flush-interval-ms:2000}")
+    public void flushPendingTokens() {
+        List<RefreshToken> newTokens = new ArrayList<>();
+        List<String> usedJtis = new ArrayList<>();
+        for (Iterator<String> iterator = this.pendingJtis.iterator(); iterator.hasNext();) {
+            String jti = iterator.next();
+            iterator.remove();
+            RefreshToken token = this.cache.get(jti);
+            if (token == null) {
+                continue;
+            }
+            if (token.getId() == 0) {
+                newTokens.add(token);
+            } else if (token.getUsedAt() != null) {
+                usedJtis.add(jti);
+            }
+        }
+
+        try {
+            if (!newTokens.isEmpty()) {
+                this.refreshTokenRepository.saveAll(newTokens);
+            }
+            if (!usedJtis.isEmpty()) {
+                this.refreshTokenRepository.markUsed(usedJtis, Instant.now());
+            }
+        } catch (Exception e) {
+            // Keep them pending, retry on the next run
+            log.error(">>> Flush refresh tokens failed: {}", e.getMessage());
+            newTokens.forEach(token -> this.pendingJtis.add(token.getJti()));
+            this.pendingJtis.addAll(usedJtis);
+            return;
+        }
+
+        // Drop entries that are persisted and no longer hot
+        Instant threshold = Instant.now().minusSeconds(this.cacheTtlSeconds);
+        this.cache.entrySet().removeIf(entry -> !this.pendingJtis.contains(entry.getKey())
+                && entry.getValue().getCreatedAt().isBefore(threshold)
+                && (entry.getValue().getUsedAt() == null || entry.getValue().getUsedAt().isBefore(threshold)));
+    }
+
+    @Scheduled(cron = "0 0 3 * * *")
+    public void deleteExpiredTokens() {
+        int deleted = this.refreshTokenRepository.deleteExpired(Instant.now());
+        log.info(">>> Deleted {} expired refresh tokens", deleted);
+    }
+
+    // Final flush on graceful shutdown
+    @PreDestroy
+    public void onShutdown() {
+        this.flushPendingTokens();
+    }
+}
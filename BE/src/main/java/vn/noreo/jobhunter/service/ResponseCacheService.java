@@ -0,0 +1,125 @@
+package vn.noreo.jobhunter.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import vn.noreo.jobhunter.util.TinyLfuCache;
+import vn.noreo.jobhunter.util.constant.CachedEntityTypeEnum;
+
+// Serialized responses of the public listings (anonymous GET), keyed by path,
+// normalized query string and the generations of the entity types they render.
+// A write bumps the generation of its type => every cached page depending on it
+// is unreachable at once (and evicted later by W-TinyLFU), no scan needed
+@Service
+public class ResponseCacheService {
+
+    // Listing path -> entity types rendered in its response
+    private static final Map<String, Set<CachedEntityTypeEnum>> CACHEABLE_PATHS = Map.of(
+            "/api/v1/jobs", EnumSet.allOf(CachedEntityTypeEnum.class),
+            "/api/v1/jobs/search", EnumSet.allOf(CachedEntityTypeEnum.class),
+            "/api/v1/jobs/facets", EnumSet.allOf(CachedEntityTypeEnum.class),
+            "/api/v1/companies", EnumSet.of(CachedEntityTypeEnum.COMPANY),
+            "/api/v1/skills", EnumSet.of(CachedEntityTypeEnum.SKILL));
+
+    // Smaller bodies are not worth a gzip copy
+    private static final int GZIP_MIN_SIZE = 1024;
+
+    private final Map<CachedEntityTypeEnum, AtomicLong> generations = new EnumMap<>(CachedEntityTypeEnum.class);
+    private final TinyLfuCache<String, CachedResponse> cache;
+
+    public ResponseCacheService(
+            @Value("${cache.response.max-weight-bytes:16777216}") long maxWeightBytes,
+            @Value("${cache.response.expected-entries:5000}") int expectedEntries,
+            MeterRegistry meterRegistry) {
+        for (CachedEntityTypeEnum type : CachedEntityTypeEnum.values()) {
+            this.generations.put(type, new AtomicLong());
+        }
+        this.cache = new TinyLfuCache<>(maxWeightBytes, expectedEntries);
+
+        FunctionCounter.builder("response.cache.requests", this.cache, TinyLfuCache::hitCount)
+                .tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("response.cache.requests", this.cache, TinyLfuCache::missCount)
+                .tag("result", "miss").register(meterRegistry);
+        Gauge.builder("response.cache.size", this.cache, TinyLfuCache::size).register(meterRegistry);
+        Gauge.builder("response.cache.weight", this.cache, TinyLfuCache::weight)
+                .baseUnit("bytes").register(meterRegistry);
+    }
+
+    public boolean isCacheable(String path) {
+        return CACHEABLE_PATHS.containsKey(path);
+    }
+
+    // Called by the write paths of the type
+    public void handleEntityChanged(CachedEntityTypeEnum type) {
+        this.generations.get(type).incrementAndGet();
+    }
+
+    // path?a=1&b=2|JOB:3,COMPANY:1 (parameters sorted, empty values dropped, names
+    // and values URL-encoded => a value containing "&" or "=" cannot collide with
+    // another parameter list)
+    public String buildKey(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        StringBuilder key = new StringBuilder(path).append('?');
+        new TreeMap<>(request.getParameterMap()).forEach((name, values) -> {
+            for (String value : values) {
+                if (value != null && !value.isEmpty()) {
+                    key.append(URLEncoder.encode(name, StandardCharsets.UTF_8)).append('=')
+                            .append(URLEncoder.encode(value, StandardCharsets.UTF_8)).append('&');
+                }
+            }
+        });
+        key.append('|');
+        for (CachedEntityTypeEnum type : CACHEABLE_PATHS.get(path)) {
+            key.append(type.name()).append(':').append(this.generations.get(type).get()).append(',');
+        }
+        return key.toString();
+    }
+
+    public CachedResponse get(String key) {
+        return this.cache.get(key);
+    }
+
+    public void put(String key, String contentType, byte[] body) {
+        byte[] gzippedBody = body.length >= GZIP_MIN_SIZE ? gzip(body) : null;
+        CachedResponse response = new CachedResponse(contentType, body, gzippedBody);
+        long weight = body.length + (gzippedBody != null ? gzippedBody.length : 0) + 2L * key.length();
+        this.cache.put(key, response, weight);
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzipOutput = new GZIPOutputStream(output)) {
+            gzipOutput.write(body);
+        } catch (IOException e) {
+            return null;
+        }
+        return output.toByteArray();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class CachedResponse {
+        private final String contentType;
+        private final byte[] body;
+        // null => body too small to be compressed
+        private final byte[] gzippedBody;
+    }
+}
@@ -1,11 +1,19 @@
 package vn.noreo.jobhunter.service;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
-import org.springframework.data.domain.Page;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
@@ -14,68 +22,102 @@ import com.turkraft.springfilter.converter.FilterSpecificationConverter;
 import com.turkraft.springfilter.parser.FilterParser;
 import com.turkraft.springfilter.parser.node.FilterNode;
 
-import vn.noreo.jobhunter.domain.Job;
 import vn.noreo.jobhunter.domain.Resume;
-import vn.noreo.jobhunter.domain.User;
 import vn.noreo.jobhunter.domain.response.ResultPaginationDTO;
 import vn.noreo.jobhunter.domain.response.resume.ResCreateResumeDTO;
 import vn.noreo.jobhunter.domain.response.resume.ResFetchResumeDTO;
-import vn.noreo.jobhunter.domain.response.resume.ResUpdateResumeDTO;
+import vn.noreo.jobhunter.domain.response.resume.ResResumeInboxDTO;
 import vn.noreo.jobhunter.repository.JobRepository;
+import vn.noreo.jobhunter.repository.PageIdQueryExecutor;
+import vn.noreo.jobhunter.repository.ResumeProjectionQueryExecutor;
 import vn.noreo.jobhunter.repository.ResumeRepository;
 import vn.noreo.jobhunter.repository.UserRepository;
 import vn.noreo.jobhunter.util.SecurityUtil;
+import vn.noreo.jobhunter.util.constant.CountStrategyEnum;
+import vn.noreo.jobhunter.util.constant.ResumeStateEnum;
+import vn.noreo.jobhunter.util.error.IdInvalidException;
 
 @Service
 public class ResumeService {
 
+    private static final Logger log = LoggerFactory.getLogger(ResumeService.class);
+
     private final ResumeRepository resumeRepository;
     private final UserRepository userRepository;
     private final JobRepository jobRepository;
     private final FilterParser filterParser;
     private final FilterSpecificationConverter filterSpecificationConverter;
+    private final PageIdQueryExecutor pageIdQueryExecutor;
+    private final PaginationService paginationService;
+    private final JobCounterService jobCounterService;
+    private final ResumeProjectionQueryExecutor resumeProjectionQueryExecutor;
 
     public ResumeService(ResumeRepository resumeRepository,
             UserRepository userRepository,
             JobRepository jobRepository, FilterParser filterParser,
-            FilterSpecificationConverter filterSpecificationConverter) {
+            FilterSpecificationConverter filterSpecificationConverter,
+            PageIdQueryExecutor pageIdQueryExecutor, PaginationService paginationService,
+            JobCounterService jobCounterService, ResumeProjectionQueryExecutor resumeProjectionQueryExecutor) {
         this.resumeRepository = resumeRepository;
         this.userRepository = userRepository;
         this.jobRepository = jobRepository;
         this.filterParser = filterParser;
         this.filterSpecificationConverter = filterSpecificationConverter;
+        this.pageIdQueryExecutor = pageIdQueryExecutor;
+        this.paginationService = paginationService;
+        this.jobCounterService = jobCounterService;
+        this.resumeProjectionQueryExecutor = resumeProjectionQueryExecutor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        int updated = this.resumeRepository.backfillCompanyId();
+        if (updated > 0) {
+            log.info(">>> Set company of {} resumes", updated);
+        }
     }
 
     public Optional<Resume> handleFetchResumeById(long id) {
         return this.resumeRepository.findById(id);
     }
 
-    public boolean checkResumeExistsByUserAndJob(Resume resume) {
-
-        // Check user by id
-        if (resume.getUser() == null) {
-            return false;
+    // One application per (user, job): references checked by one query, then a
+    // plain insert guarded by uk_resumes_user_job. A duplicate (double click,
+    // retry, concurrent submit) loses on the unique index and gets the existing
+    // resume back (duplicate = true), no read-before-write race
+    public ResCreateResumeDTO handleCreateResume(Resume newResume) throws IdInvalidException {
+        if (newResume.getUser() == null || newResume.getJob() == null) {
+            throw new IdInvalidException("User or Job not found for the provided Resume");
         }
-        Optional<User> userOpt = this.userRepository.findById(resume.getUser().getId());
-        if (userOpt.isEmpty()) {
-            return false;
+        long userId = newResume.getUser().getId();
+        long jobId = newResume.getJob().getId();
+        List<Object[]> references = this.resumeRepository.findJobCompanyIfUserExists(userId, jobId);
+        if (references.isEmpty()) {
+            throw new IdInvalidException("User or Job not found for the provided Resume");
         }
 
-        // Check job by id
-        if (resume.getJob() == null) {
-            return false;
-        }
-        Optional<Job> jobOpt = this.jobRepository.findById(resume.getJob().getId());
-        if (jobOpt.isEmpty()) {
-            return false;
-        }
-
-        return true;
-    }
+        // References without loading user/job; company of the job denormalized for
+        // the HR inbox
+        newResume.setUser(this.userRepository.getReferenceById(userId));
+        newResume.setJob(this.jobRepository.getReferenceById(jobId));
+        newResume.setCompanyId((Long) references.get(0)[1]);
 
-    public ResCreateResumeDTO handleCreateResume(Resume newResume) {
         // Save the new resume
-        newResume = this.resumeRepository.save(newResume);
+        try {
+            newResume = this.resumeRepository.saveAndFlush(newResume);
+        } catch (DataIntegrityViolationException e) {
+            List<Object[]> existing = this.resumeRepository.findCreationByUserAndJob(userId, jobId);
+            if (existing.isEmpty()) {
+                throw e;
+            }
+            ResCreateResumeDTO resCreateResumeDTO = new ResCreateResumeDTO();
+            resCreateResumeDTO.setId((Long) existing.get(0)[0]);
+            resCreateResumeDTO.setCreatedAt((Instant) existing.get(0)[1]);
+            resCreateResumeDTO.setCreatedBy((String) existing.get(0)[2]);
+            resCreateResumeDTO.setDuplicate(true);
+            return resCreateResumeDTO;
+        }
+        this.jobCounterService.handleRecordApplication(jobId);
 
         // Convert to DTO
         ResCreateResumeDTO resCreateResumeDTO = new ResCreateResumeDTO();
@@ -85,16 +127,6 @@ public class ResumeService {
         return resCreateResumeDTO;
     }
 
-    public ResUpdateResumeDTO handleUpdateResume(Resume updatedResume) {
-        updatedResume = this.resumeRepository.save(updatedResume);
-
-        // Convert to DTO
-        ResUpdateResumeDTO resUpdateResumeDTO = new ResUpdateResumeDTO();
-        resUpdateResumeDTO.setUpdatedAt(updatedResume.getUpdatedAt());
-        resUpdateResumeDTO.setUpdatedBy(updatedResume.getUpdatedBy());
-        return resUpdateResumeDTO;
-    }
-
     public void handleDeleteResume(long id) {
         this.resumeRepository.deleteById(id);
     }
@@ -125,15 +157,17 @@ public class ResumeService {
         return resumeDTO;
     }
 
-    public ResultPaginationDTO handleFetchAllResumes(Specification<Resume> specification, Pageable pageable) {
-        Page<Resume> resumePage = this.resumeRepository.findAll(specification, pageable);
+    // One projection query for the page (+ count depending on the strategy),
+    // whatever the page size
+    public ResultPaginationDTO handleFetchAllResumes(Specification<Resume> specification, Pageable pageable,
+            CountStrategyEnum countStrategy, String countCacheKey) throws IdInvalidException {
+        PaginationService.ResultPage<ResFetchResumeDTO> resumePage = this.paginationService.findRowPage(
+                Resume.class, specification, pageable, countStrategy, countCacheKey,
+                () -> this.resumeProjectionQueryExecutor.findPage(specification, pageable));
         ResultPaginationDTO resultPaginationDTO = new ResultPaginationDTO();
         ResultPaginationDTO.Meta meta = new ResultPaginationDTO.Meta();
 
-        meta.setPage(pageable.getPageNumber() + 1);
-        meta.setPageSize(pageable.getPageSize());
-        meta.setPages(resumePage.getTotalPages());
-        meta.setTotal(resumePage.getTotalElements());
+        this.paginationService.fillMeta(meta, pageable, resumePage);
 
         resultPaginationDTO.setMeta(meta);
 
@@ -161,39 +195,91 @@ public class ResumeService {
         // .map(item -> this.convertToResFetchResumeDTO(item))
         // .collect(Collectors.toList());
 
-        List<ResFetchResumeDTO> resumeDTOs = resumePage.stream()
-                .map(this::convertToResFetchResumeDTO)
-                .collect(Collectors.toList());
+        resultPaginationDTO.setResult(resumePage.getContent());
+        return resultPaginationDTO;
+    }
+
+    // Cursor mode (?cursor=, empty for the first page): no offset, no count
+    public ResultPaginationDTO handleFetchResumesByCursor(Specification<Resume> specification, Pageable pageable,
+            String cursor) throws IdInvalidException {
+        PageIdQueryExecutor.KeysetIds keysetIds = this.pageIdQueryExecutor.findKeysetIds(Resume.class,
+                specification, pageable.getSort(), pageable.getPageSize(), cursor);
+
+        ResultPaginationDTO resultPaginationDTO = new ResultPaginationDTO();
+        ResultPaginationDTO.Meta meta = new ResultPaginationDTO.Meta();
 
-        resultPaginationDTO.setResult(resumeDTOs);
+        meta.setPageSize(pageable.getPageSize());
+        meta.setNext(keysetIds.getNext());
+        meta.setPrev(keysetIds.getPrev());
+        meta.setHasNext(keysetIds.getNext() != null);
+
+        resultPaginationDTO.setMeta(meta);
+
+        resultPaginationDTO.setResult(this.resumeProjectionQueryExecutor.findByIdIn(keysetIds.getIds()));
         return resultPaginationDTO;
     }
 
-    public ResultPaginationDTO handleFetchResumesByUser(Pageable pageable) {
+    // HR inbox: resumes of one company (optionally one status), newest first,
+    // keyset paging over (companyId, status, createdAt), or (companyId, createdAt,
+    // id) without a status, + per-status counts, all served by composite indexes
+    public ResultPaginationDTO handleFetchCompanyInbox(long companyId, ResumeStateEnum status, Pageable pageable,
+            String cursor) throws IdInvalidException {
+        Specification<Resume> specification = (root, query, cb) -> status == null
+                ? cb.equal(root.get("companyId"), companyId)
+                : cb.and(cb.equal(root.get("companyId"), companyId), cb.equal(root.get("status"), status));
+        PageIdQueryExecutor.KeysetIds keysetIds = this.pageIdQueryExecutor.findKeysetIds(Resume.class,
+                specification, Sort.by(Sort.Direction.DESC, "createdAt"), pageable.getPageSize(), cursor);
+
+        Map<ResumeStateEnum, Long> counts = new EnumMap<>(ResumeStateEnum.class);
+        for (Object[] row : this.resumeRepository.countByStatusForCompany(companyId)) {
+            counts.put((ResumeStateEnum) row[0], (Long) row[1]);
+        }
+        List<ResResumeInboxDTO.StatusCount> statuses = new ArrayList<>();
+        for (ResumeStateEnum state : ResumeStateEnum.values()) {
+            statuses.add(new ResResumeInboxDTO.StatusCount(state, counts.getOrDefault(state, 0L)));
+        }
+
+        ResResumeInboxDTO inbox = new ResResumeInboxDTO();
+        inbox.setStatuses(statuses);
+        inbox.setResumes(this.resumeProjectionQueryExecutor.findByIdIn(keysetIds.getIds()));
+
+        ResultPaginationDTO resultPaginationDTO = new ResultPaginationDTO();
+        ResultPaginationDTO.Meta meta = new ResultPaginationDTO.Meta();
+
+        meta.setPage(pageable.getPageNumber() + 1);
+        meta.setPageSize(pageable.getPageSize());
+        meta.setTotal(status != null ? counts.getOrDefault(status, 0L)
+                : counts.values().stream().mapToLong(Long::longValue).sum());
+        meta.setPages((int) Math.ceil((double) meta.getTotal() / pageable.getPageSize()));
+        meta.setNext(keysetIds.getNext());
+        meta.setPrev(keysetIds.getPrev());
+        meta.setHasNext(keysetIds.getNext() != null);
+
+        resultPaginationDTO.setMeta(meta);
+        resultPaginationDTO.setResult(inbox);
+        return resultPaginationDTO;
+    }
+
+    public ResultPaginationDTO handleFetchResumesByUser(Pageable pageable) throws IdInvalidException {
         // Query builder to fetch resumes by user
         String email = SecurityUtil.getCurrentUserLogin().isPresent() == true ? SecurityUtil.getCurrentUserLogin().get()
                 : "";
         FilterNode filterNode = filterParser.parse("email='" + email + "'");
         FilterSpecification<Resume> filterSpecification = filterSpecificationConverter.convert(filterNode);
 
-        // Fetch resumes by user
-        Page<Resume> resumePage = this.resumeRepository.findAll(filterSpecification, pageable);
+        // Fetch resumes by user: page projection + count
+        PaginationService.ResultPage<ResFetchResumeDTO> resumePage = this.paginationService.findRowPage(
+                Resume.class, filterSpecification, pageable, CountStrategyEnum.EXACT, null,
+                () -> this.resumeProjectionQueryExecutor.findPage(filterSpecification, pageable));
 
         ResultPaginationDTO resultPaginationDTO = new ResultPaginationDTO();
         ResultPaginationDTO.Meta meta = new ResultPaginationDTO.Meta();
 
-        meta.setPage(pageable.getPageNumber() + 1);
-        meta.setPageSize(pageable.getPageSize());
-        meta.setPages(resumePage.getTotalPages());
-        meta.setTotal(resumePage.getTotalElements());
+        this.paginationService.fillMeta(meta, pageable, resumePage);
 
         resultPaginationDTO.setMeta(meta);
 
-        List<ResFetchResumeDTO> resumeDTOs = resumePage.stream()
-                .map(this::convertToResFetchResumeDTO)
-                .collect(Collectors.toList());
-
-        resultPaginationDTO.setResult(resumeDTOs);
+        resultPaginationDTO.setResult(resumePage.getContent());
         return resultPaginationDTO;
     }
 }
@@ -0,0 +1,145 @@
+package vn.noreo.jobhunter.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import vn.noreo.jobhunter.domain.ResumeStatusHistory;
+import vn.noreo.jobhunter.domain.request.ReqBulkResumeStatusDTO;
+import vn.noreo.jobhunter.domain.response.resume.ResBulkResumeStatusDTO;
+import vn.noreo.jobhunter.domain.response.resume.ResUpdateResumeDTO;
+import vn.noreo.jobhunter.repository.ResumeRepository;
+import vn.noreo.jobhunter.repository.ResumeStatusHistoryBatchRepository;
+import vn.noreo.jobhunter.util.SecurityUtil;
+import vn.noreo.jobhunter.util.constant.ResumeStateEnum;
+import vn.noreo.jobhunter.util.error.IdInvalidException;
+
+// Status transitions (bulk, or one resume through PUT /resumes): one transaction
+// that reads and locks the current statuses in one query, checks every
+// transition, runs one UPDATE per target status and appends the history rows in
+// one JDBC batch
+@Service
+public class ResumeStatusService {
+
+    private final ResumeRepository resumeRepository;
+    private final ResumeStatusHistoryBatchRepository resumeStatusHistoryBatchRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${resume-status.max-items:500}")
+    private int maxItems;
+
+    public ResumeStatusService(ResumeRepository resumeRepository,
+            ResumeStatusHistoryBatchRepository resumeStatusHistoryBatchRepository,
+            PlatformTransactionManager transactionManager) {
+        this.resumeRepository = resumeRepository;
+        this.resumeStatusHistoryBatchRepository = resumeStatusHistoryBatchRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // companyId != null => only the resumes of that company (HR), others are
+    // reported as not found
+    public ResBulkResumeStatusDTO handleBulkTransition(ReqBulkResumeStatusDTO request, Long companyId)
+            throws IdInvalidException {
+        List<ReqBulkResumeStatusDTO.Item> items = request.getItems();
+        if (items == null || items.isEmpty()) {
+            throw new IdInvalidException("No resume to update");
+        }
+        if (items.size() > this.maxItems) {
+            throw new IdInvalidException("At most " + this.maxItems + " resumes per request");
+        }
+        return this.transition(items, companyId, Instant.now(), SecurityUtil.getCurrentUserLogin().orElse(""));
+    }
+
+    // Single status change: a one-item transition (same checks, same history
+    // row), a rejected item is a 400
+    public ResUpdateResumeDTO handleTransition(long id, ResumeStateEnum status, Long companyId)
+            throws IdInvalidException {
+        ReqBulkResumeStatusDTO.Item item = new ReqBulkResumeStatusDTO.Item();
+        item.setId(id);
+        item.setStatus(status);
+        Instant now = Instant.now();
+        String updatedBy = SecurityUtil.getCurrentUserLogin().orElse("");
+        ResBulkResumeStatusDTO.ItemResult result = this.transition(List.of(item), companyId, now, updatedBy)
+                .getResults().get(0);
+        if (!result.isSuccess()) {
+            throw new IdInvalidException(result.getMessage());
+        }
+
+        ResUpdateResumeDTO resUpdateResumeDTO = new ResUpdateResumeDTO();
+        resUpdateResumeDTO.setUpdatedAt(now);
+        resUpdateResumeDTO.setUpdatedBy(updatedBy);
+        return resUpdateResumeDTO;
+    }
+
+    private ResBulkResumeStatusDTO transition(List<ReqBulkResumeStatusDTO.Item> items, Long companyId,
+            Instant now, String updatedBy) {
+        return this.transactionTemplate.execute(status -> {
+            Set<Long> ids = new HashSet<>();
+            items.forEach(item -> ids.add(item.getId()));
+            Map<Long, Object[]> current = new HashMap<>();
+            for (Object[] row : this.resumeRepository.findStatusesForUpdate(ids)) {
+                current.put(((Number) row[0]).longValue(), row);
+            }
+
+            ResBulkResumeStatusDTO res = new ResBulkResumeStatusDTO();
+            Map<ResumeStateEnum, List<Long>> idsByTarget = new EnumMap<>(ResumeStateEnum.class);
+            List<ResumeStatusHistory> history = new ArrayList<>();
+            Set<Long> seen = new HashSet<>();
+            for (ReqBulkResumeStatusDTO.Item item : items) {
+                Object[] row = current.get(item.getId());
+                ResumeStateEnum from = row != null && row[1] != null ? ResumeStateEnum.valueOf((String) row[1])
+                        : null;
+                ResumeStateEnum to = item.getStatus();
+                String error = null;
+                if (!seen.add(item.getId())) {
+                    error = "Duplicate resume id";
+                } else if (row == null || (companyId != null
+                        && (row[2] == null || ((Number) row[2]).longValue() != companyId))) {
+                    error = "Resume with id " + item.getId() + " not found";
+                } else if (to == null) {
+                    error = "Status is required";
+                } else if (from == to) {
+                    error = "Resume is already " + to;
+                } else if (from != null && !from.canTransitionTo(to)) {
+                    error = "Cannot change status from " + from + " to " + to;
+                }
+
+                if (error != null) {
+                    res.getResults().add(new ResBulkResumeStatusDTO.ItemResult(item.getId(), from, to, false, error));
+                    continue;
+                }
+                idsByTarget.computeIfAbsent(to, key -> new ArrayList<>()).add(item.getId());
+                ResumeStatusHistory entry = new ResumeStatusHistory();
+                entry.setResumeId(item.getId());
+                entry.setFromStatus(from);
+                entry.setToStatus(to);
+                entry.setChangedAt(now);
+                entry.setChangedBy(updatedBy);
+                history.add(entry);
+                res.getResults().add(new ResBulkResumeStatusDTO.ItemResult(item.getId(), from, to, true, null));
+            }
+
+            for (Map.Entry<ResumeStateEnum, List<Long>> entry : idsByTarget.entrySet()) {
+                this.resumeRepository.updateStatusByIdIn(entry.getValue(), entry.getKey(), now, updatedBy);
+            }
+            if (!history.isEmpty()) {
+                this.resumeStatusHistoryBatchRepository.insertAll(history);
+            }
+
+            res.setTotal(items.size());
+            res.setUpdated(history.size());
+            res.setFailed(items.size() - history.size());
+            return res;
+        });
+    }
+}
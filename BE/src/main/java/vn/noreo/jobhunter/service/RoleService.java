@@ -2,9 +2,9 @@ package vn.noreo.jobhunter.service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
@@ -14,6 +14,7 @@ import vn.noreo.jobhunter.domain.Role;
 import vn.noreo.jobhunter.domain.response.ResultPaginationDTO;
 import vn.noreo.jobhunter.repository.PermissionRepository;
 import vn.noreo.jobhunter.repository.RoleRepository;
+import vn.noreo.jobhunter.util.constant.CountStrategyEnum;
 import vn.noreo.jobhunter.util.error.IdInvalidException;
 
 @Service
@@ -21,10 +22,15 @@ public class RoleService {
 
     private final RoleRepository roleRepository;
     private final PermissionRepository permissionRepository;
+    private final PermissionMatrixService permissionMatrixService;
+    private final PaginationService paginationService;
 
-    public RoleService(RoleRepository roleRepository, PermissionRepository permissionRepository) {
+    public RoleService(RoleRepository roleRepository, PermissionRepository permissionRepository,
+            PermissionMatrixService permissionMatrixService, PaginationService paginationService) {
         this.roleRepository = roleRepository;
         this.permissionRepository = permissionRepository;
+        this.permissionMatrixService = permissionMatrixService;
+        this.paginationService = paginationService;
     }
 
     public boolean checkRoleExists(String name) {
@@ -50,7 +56,9 @@ public class RoleService {
             newRole.setPermissions(listPermissions);
         }
 
-        return this.roleRepository.save(newRole);
+        Role createdRole = this.roleRepository.save(newRole);
+        this.permissionMatrixService.scheduleRebuild();
+        return createdRole;
     }
 
     public Role handleUpdateRole(Role updatedRole) throws IdInvalidException {
@@ -69,6 +77,8 @@ public class RoleService {
         // already exists");
         // }
 
+        boolean isPermissionSetChanged = currentRole.isActive() != updatedRole.isActive();
+
         // Update fields
         currentRole.setName(updatedRole.getName());
         currentRole.setDescription(updatedRole.getDescription());
@@ -80,22 +90,38 @@ public class RoleService {
                     .map(permissions -> permissions.getId())
                     .collect(Collectors.toList());
             List<Permission> listPermissions = this.permissionRepository.findAllById(reqPermissions);
+            if (!this.isSamePermissions(currentRole.getPermissions(), listPermissions)) {
+                isPermissionSetChanged = true;
+            }
             currentRole.setPermissions(listPermissions);
         }
 
-        return this.roleRepository.save(currentRole);
+        // Access tokens carrying the old version will be rejected
+        if (isPermissionSetChanged) {
+            currentRole.setPermissionVersion(currentRole.getPermissionVersion() + 1);
+        }
+
+        currentRole = this.roleRepository.save(currentRole);
+        this.permissionMatrixService.scheduleRebuild();
+        return currentRole;
+    }
+
+    private boolean isSamePermissions(List<Permission> currentPermissions, List<Permission> newPermissions) {
+        Set<Long> currentIds = currentPermissions == null ? Set.of()
+                : currentPermissions.stream().map(Permission::getId).collect(Collectors.toSet());
+        Set<Long> newIds = newPermissions.stream().map(Permission::getId).collect(Collectors.toSet());
+        return currentIds.equals(newIds);
     }
 
-    public ResultPaginationDTO handleFetchAllRoles(Specification<Role> specification, Pageable pageable) {
-        Page<Role> rolePage = this.roleRepository.findAll(specification, pageable);
+    public ResultPaginationDTO handleFetchAllRoles(Specification<Role> specification, Pageable pageable,
+            CountStrategyEnum countStrategy, String countCacheKey) throws IdInvalidException {
+        PaginationService.ResultPage<Role> rolePage = this.paginationService.findPage(this.roleRepository,
+                Role.class, specification, pageable, countStrategy, countCacheKey);
 
         ResultPaginationDTO resultPaginationDTO = new ResultPaginationDTO();
         ResultPaginationDTO.Meta meta = new ResultPaginationDTO.Meta();
 
-        meta.setPage(pageable.getPageNumber() + 1);
-        meta.setPageSize(pageable.getPageSize());
-        meta.setPages(rolePage.getTotalPages());
-        meta.setTotal(rolePage.getTotalElements());
+        this.paginationService.fillMeta(meta, pageable, rolePage);
 
         resultPaginationDTO.setMeta(meta);
 
@@ -105,5 +131,6 @@ public class RoleService {
 
     public void handleDeleteRole(long id) {
         this.roleRepository.deleteById(id);
+        this.permissionMatrixService.scheduleRebuild();
     }
 }
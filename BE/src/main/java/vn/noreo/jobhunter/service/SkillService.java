@@ -2,7 +2,6 @@ package vn.noreo.jobhunter.service;
 
 import java.util.Optional;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
@@ -10,14 +9,27 @@ import org.springframework.stereotype.Service;
 import vn.noreo.jobhunter.domain.Skill;
 import vn.noreo.jobhunter.domain.response.ResultPaginationDTO;
 import vn.noreo.jobhunter.repository.SkillRepository;
+import vn.noreo.jobhunter.util.constant.CachedEntityTypeEnum;
+import vn.noreo.jobhunter.util.constant.CountStrategyEnum;
+import vn.noreo.jobhunter.util.error.IdInvalidException;
 
 @Service
 public class SkillService {
 
     private final SkillRepository skillRepository;
-
-    public SkillService(SkillRepository skillRepository) {
+    private final PaginationService paginationService;
+    private final JobBitmapIndexService jobBitmapIndexService;
+    private final EntityCacheService entityCacheService;
+    private final ResponseCacheService responseCacheService;
+
+    public SkillService(SkillRepository skillRepository, PaginationService paginationService,
+            JobBitmapIndexService jobBitmapIndexService, EntityCacheService entityCacheService,
+            ResponseCacheService responseCacheService) {
         this.skillRepository = skillRepository;
+        this.paginationService = paginationService;
+        this.jobBitmapIndexService = jobBitmapIndexService;
+        this.entityCacheService = entityCacheService;
+        this.responseCacheService = responseCacheService;
     }
 
     public boolean checkSkillExistsByName(String name) {
@@ -25,7 +37,9 @@ public class SkillService {
     }
 
     public Skill handleCreateSkill(Skill newSkill) {
-        return this.skillRepository.save(newSkill);
+        Skill skill = this.skillRepository.save(newSkill);
+        this.responseCacheService.handleEntityChanged(CachedEntityTypeEnum.SKILL);
+        return skill;
     }
 
     public Skill handleFetchSkillById(long id) {
@@ -38,19 +52,21 @@ public class SkillService {
             currentSkill.setName(updatedSkill.getName());
 
             currentSkill = this.skillRepository.save(currentSkill);
+            // Cached job details embed the skill name
+            this.entityCacheService.evictJobsWithSkill(currentSkill.getId());
+            this.responseCacheService.handleEntityChanged(CachedEntityTypeEnum.SKILL);
         }
         return currentSkill;
     }
 
-    public ResultPaginationDTO handleFetchAllSkills(Specification<Skill> specification, Pageable pageable) {
-        Page<Skill> skillPage = this.skillRepository.findAll(specification, pageable);
+    public ResultPaginationDTO handleFetchAllSkills(Specification<Skill> specification, Pageable pageable,
+            CountStrategyEnum countStrategy, String countCacheKey) throws IdInvalidException {
+        PaginationService.ResultPage<Skill> skillPage = this.paginationService.findPage(this.skillRepository,
+                Skill.class, specification, pageable, countStrategy, countCacheKey);
         ResultPaginationDTO resultPaginationDTO = new ResultPaginationDTO();
         ResultPaginationDTO.Meta meta = new ResultPaginationDTO.Meta();
 
-        meta.setPage(pageable.getPageNumber() + 1);
-        meta.setPageSize(pageable.getPageSize());
-        meta.setPages(skillPage.getTotalPages());
-        meta.setTotal(skillPage.getTotalElements());
+        this.paginationService.fillMeta(meta, pageable, skillPage);
 
         resultPaginationDTO.setMeta(meta);
 
@@ -74,5 +90,8 @@ public class SkillService {
 
         // Delete the skill
         this.skillRepository.delete(skill);
+        this.jobBitmapIndexService.handleRemoveSkill(id);
+        this.entityCacheService.evictJobsWithSkill(id);
+        this.responseCacheService.handleEntityChanged(CachedEntityTypeEnum.SKILL);
     }
 }
@@ -1,5 +1,6 @@
 package vn.noreo.jobhunter.service;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -23,16 +24,19 @@ public class SubscriberService {
     private final SkillRepository skillRepository;
     private final JobRepository jobRepository;
     private final EmailService emailService;
+    private final JobBitmapIndexService jobBitmapIndexService;
 
     public SubscriberService(
             SubscriberRepository subscriberRepository,
             SkillRepository skillRepository,
             JobRepository jobRepository,
-            EmailService emailService) {
+            EmailService emailService,
+            JobBitmapIndexService jobBitmapIndexService) {
         this.subscriberRepository = subscriberRepository;
         this.skillRepository = skillRepository;
         this.jobRepository = jobRepository;
         this.emailService = emailService;
+        this.jobBitmapIndexService = jobBitmapIndexService;
     }
 
     // @Scheduled(cron = "*/10 * * * * *")
@@ -104,7 +108,12 @@ public class SubscriberService {
             for (Subscriber sub : listSubs) {
                 List<Skill> listSkills = sub.getSkills();
                 if (listSkills != null && listSkills.size() > 0) {
-                    List<Job> listJobs = this.jobRepository.findBySkillsIn(listSkills);
+                    // Active jobs having any of the skills: bitmap OR, then one fetch-join query
+                    long[] jobIds = this.jobBitmapIndexService.findJobIds(
+                            listSkills.stream().map(Skill::getId).collect(Collectors.toList()), false, true, null);
+                    List<Job> listJobs = jobIds.length == 0 ? List.of()
+                            : this.jobRepository.findAllWithCompanyAndSkillsByIdIn(
+                                    Arrays.stream(jobIds).boxed().collect(Collectors.toList()));
                     if (listJobs != null && listJobs.size() > 0) {
                         List<ResEmailJobDTO> listJobDTOs = listJobs.stream().map(
                                 job -> this.convertJobToSendEmail(job)).collect(Collectors.toList());
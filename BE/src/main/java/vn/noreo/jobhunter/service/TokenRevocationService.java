@@ -0,0 +1,109 @@
+package vn.noreo.jobhunter.service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import vn.noreo.jobhunter.domain.RevokedToken;
+import vn.noreo.jobhunter.repository.RevokedTokenRepository;
+import vn.noreo.jobhunter.util.BloomFilter;
+
+// Denylist of access token jtis. Checked on every authenticated request: the
+// Bloom filter answers "not revoked" for almost every token without touching
+// the exact set, the exact set removes false positives. Nothing hits the DB.
+@Service
+public class TokenRevocationService {
+
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    // jti -> expiresAt
+    private final Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+
+    @Value("${jwt.revocation.expected-tokens:10000}")
+    private int expectedTokens;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository, MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        Gauge.builder("jwt.revoked.tokens", this.revokedTokens, Map::size).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        this.revokedTokenRepository.findByExpiresAtAfter(Instant.now())
+                .forEach(token -> this.revokedTokens.put(token.getJti(), token.getExpiresAt()));
+        this.rebuildFilter();
+        log.info(">>> Loaded {} revoked access tokens", this.revokedTokens.size());
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        BloomFilter filter = this.bloomFilter;
+        if (filter != null && !filter.mightContain(jti)) {
+            return false;
+        }
+        return this.revokedTokens.containsKey(jti);
+    }
+
+    public void handleRevokeToken(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt == null || !expiresAt.isAfter(Instant.now())
+                || this.revokedTokens.containsKey(jti)) {
+            return;
+        }
+
+        RevokedToken revokedToken = new RevokedToken();
+        revokedToken.setJti(jti);
+        revokedToken.setExpiresAt(expiresAt);
+        revokedToken.setRevokedAt(Instant.now());
+        this.revokedTokenRepository.save(revokedToken);
+
+        // Exact set first: a concurrent check never sees "in filter, not in set"
+        // turn into a false negative
+        this.revokedTokens.put(jti, expiresAt);
+        BloomFilter filter = this.bloomFilter;
+        if (filter == null || this.revokedTokens.size() > filter.getExpectedInsertions()) {
+            this.rebuildFilter();
+        } else {
+            filter.put(jti);
+        }
+    }
+
+    // Expired tokens are rejected by the decoder => drop them, and rebuild the
+    // filter (no removal in a Bloom filter) so it stays small
+    @Scheduled(cron = "0 */30 * * * *")
+    public void purgeExpiredTokens() {
+        Instant now = Instant.now();
+        boolean removed = this.revokedTokens.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+        if (removed) {
+            this.rebuildFilter();
+        }
+        int deleted = this.revokedTokenRepository.deleteExpired(now);
+        if (deleted > 0) {
+            log.info(">>> Deleted {} expired revoked tokens", deleted);
+        }
+    }
+
+    private synchronized void rebuildFilter() {
+        BloomFilter filter = new BloomFilter(Math.max(this.expectedTokens, this.revokedTokens.size() * 2),
+                FALSE_POSITIVE_RATE);
+        this.revokedTokens.keySet().forEach(filter::put);
+        this.bloomFilter = filter;
+        // Second pass: a jti revoked while building went into the old filter
+        this.revokedTokens.keySet().forEach(filter::put);
+    }
+}
@@ -1,14 +1,22 @@
 package vn.noreo.jobhunter.service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 
 import vn.noreo.jobhunter.domain.Company;
 import vn.noreo.jobhunter.domain.Role;
@@ -17,7 +25,10 @@ import vn.noreo.jobhunter.domain.response.ResCreateUserDTO;
 import vn.noreo.jobhunter.domain.response.ResFetchUserDTO;
 import vn.noreo.jobhunter.domain.response.ResUpdateUserDTO;
 import vn.noreo.jobhunter.domain.response.ResultPaginationDTO;
+import vn.noreo.jobhunter.repository.PageIdQueryExecutor;
 import vn.noreo.jobhunter.repository.UserRepository;
+import vn.noreo.jobhunter.util.constant.CountStrategyEnum;
+import vn.noreo.jobhunter.util.error.IdInvalidException;
 
 @Service
 public class UserService {
@@ -26,13 +37,26 @@ public class UserService {
     private final PasswordEncoder passwordEncoder;
     private final CompanyService companyService;
     private final RoleService roleService;
+    private final UserTokenVersionService userTokenVersionService;
+    private final PageIdQueryExecutor pageIdQueryExecutor;
+    private final PaginationService paginationService;
+    private final Counter userLookups;
+
+    // Number of user lookups done by the current request (see UserLookupMetricsInterceptor)
+    public static final String USER_LOOKUP_COUNT_ATTRIBUTE = UserService.class.getName() + ".lookupCount";
+    private static final String USER_MEMO_ATTRIBUTE_PREFIX = UserService.class.getName() + ".user.";
 
     public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, CompanyService companyService,
-            RoleService roleService) {
+            RoleService roleService, PageIdQueryExecutor pageIdQueryExecutor, PaginationService paginationService,
+            MeterRegistry meterRegistry, UserTokenVersionService userTokenVersionService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.companyService = companyService;
         this.roleService = roleService;
+        this.userTokenVersionService = userTokenVersionService;
+        this.pageIdQueryExecutor = pageIdQueryExecutor;
+        this.paginationService = paginationService;
+        this.userLookups = Counter.builder("user.lookups").register(meterRegistry);
     }
 
     public boolean checkUserExistsByEmail(String email) {
@@ -139,25 +163,47 @@ public class UserService {
 
     public void handleDeleteUser(long id) {
         this.userRepository.deleteById(id);
+        this.userTokenVersionService.handleRemoveUser(id);
     }
 
     public User handleFetchUserById(long id) {
         return this.userRepository.findById(id).orElse(null);
     }
 
+    // Memoized per request: UserDetailsCustom, AuthController... share one lookup
     public User handleFetchUserByUsername(String username) {
-        return this.userRepository.findByEmail(username);
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            this.userLookups.increment();
+            return this.userRepository.findByEmail(username);
+        }
+
+        String memoKey = USER_MEMO_ATTRIBUTE_PREFIX + username;
+        Object cached = attributes.getAttribute(memoKey, RequestAttributes.SCOPE_REQUEST);
+        if (cached instanceof User user) {
+            return user;
+        }
+
+        this.userLookups.increment();
+        Object lookupCount = attributes.getAttribute(USER_LOOKUP_COUNT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        attributes.setAttribute(USER_LOOKUP_COUNT_ATTRIBUTE,
+                lookupCount instanceof Integer count ? count + 1 : 1, RequestAttributes.SCOPE_REQUEST);
+
+        User user = this.userRepository.findByEmail(username);
+        if (user != null) {
+            attributes.setAttribute(memoKey, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
     }
 
-    public ResultPaginationDTO handleFetchAllUsers(Specification<User> specification, Pageable pageable) {
-        Page<User> userPage = this.userRepository.findAll(specification, pageable);
+    public ResultPaginationDTO handleFetchAllUsers(Specification<User> specification, Pageable pageable,
+            CountStrategyEnum countStrategy, String countCacheKey) throws IdInvalidException {
+        PaginationService.ResultPage<User> userPage = this.paginationService.findPage(this.userRepository,
+                User.class, specification, pageable, countStrategy, countCacheKey);
         ResultPaginationDTO resultPaginationDTO = new ResultPaginationDTO();
         ResultPaginationDTO.Meta meta = new ResultPaginationDTO.Meta();
 
-        meta.setPage(pageable.getPageNumber() + 1);
-        meta.setPageSize(pageable.getPageSize());
-        meta.setPages(userPage.getTotalPages());
-        meta.setTotal(userPage.getTotalElements());
+        this.paginationService.fillMeta(meta, pageable, userPage);
 
         resultPaginationDTO.setMeta(meta);
 
@@ -168,6 +214,36 @@ public class UserService {
         return resultPaginationDTO;
     }
 
+    // Cursor mode (?cursor=, empty for the first page): no offset, no count
+    public ResultPaginationDTO handleFetchUsersByCursor(Specification<User> specification, Pageable pageable,
+            String cursor) throws IdInvalidException {
+        PageIdQueryExecutor.KeysetIds keysetIds = this.pageIdQueryExecutor.findKeysetIds(User.class, specification,
+                pageable.getSort(), pageable.getPageSize(), cursor);
+
+        ResultPaginationDTO resultPaginationDTO = new ResultPaginationDTO();
+        ResultPaginationDTO.Meta meta = new ResultPaginationDTO.Meta();
+
+        meta.setPageSize(pageable.getPageSize());
+        meta.setNext(keysetIds.getNext());
+        meta.setPrev(keysetIds.getPrev());
+        meta.setHasNext(keysetIds.getNext() != null);
+
+        resultPaginationDTO.setMeta(meta);
+
+        List<ResFetchUserDTO> userDTOs = new ArrayList<>();
+        if (!keysetIds.getIds().isEmpty()) {
+            Map<Long, User> usersById = this.userRepository.findAllWithCompanyAndRoleByIdIn(keysetIds.getIds())
+                    .stream().collect(Collectors.toMap(User::getId, Function.identity()));
+            keysetIds.getIds().stream()
+                    .map(usersById::get)
+                    .filter(Objects::nonNull)
+                    .map(this::convertToResFetchUserDTO)
+                    .forEach(userDTOs::add);
+        }
+        resultPaginationDTO.setResult(userDTOs);
+        return resultPaginationDTO;
+    }
+
     public User handleUpdateUser(User updatedUser) {
         User currentUser = this.handleFetchUserById(updatedUser.getId());
         if (currentUser != null) {
@@ -177,31 +253,32 @@ public class UserService {
             currentUser.setAddress(updatedUser.getAddress());
 
             // Check company exists
+            Long oldCompanyId = currentUser.getCompany() != null ? currentUser.getCompany().getId() : null;
             if (updatedUser.getCompany() != null) {
                 Optional<Company> companyOptional = this.companyService.findById(updatedUser.getCompany().getId());
                 currentUser.setCompany(companyOptional.isPresent() ? companyOptional.get() : null);
             }
 
             // Check role exists
+            Long oldRoleId = currentUser.getRole() != null ? currentUser.getRole().getId() : null;
             if (updatedUser.getRole() != null) {
                 Optional<Role> roleOptional = this.roleService.handleFetchRoleById(updatedUser.getRole().getId());
                 currentUser.setRole(roleOptional.isPresent() ? roleOptional.get() : null);
             }
+
+            // Role or company changed => this user's tokens carry stale claims, reject
+            // them (other holders of the role keep theirs)
+            Long newCompanyId = currentUser.getCompany() != null ? currentUser.getCompany().getId() : null;
+            Long newRoleId = currentUser.getRole() != null ? currentUser.getRole().getId() : null;
+            boolean isTokenStale = !Objects.equals(oldRoleId, newRoleId) || !Objects.equals(oldCompanyId, newCompanyId);
+            if (isTokenStale) {
+                currentUser.setTokenVersion(currentUser.getTokenVersion() + 1);
+            }
             currentUser = this.userRepository.save(currentUser);
+            if (isTokenStale) {
+                this.userTokenVersionService.handleVersionChanged(currentUser.getId(), currentUser.getTokenVersion());
+            }
         }
         return currentUser;
     }
-
-    // Save refresh token to database
-    public void updateUserRefreshToken(String token, String email) {
-        User currentUser = this.handleFetchUserByUsername(email);
-        if (currentUser != null) {
-            currentUser.setRefreshToken(token);
-            this.userRepository.save(currentUser);
-        }
-    }
-
-    public User getUserByRefreshTokenAndEmail(String refreshToken, String email) {
-        return this.userRepository.findByRefreshTokenAndEmail(refreshToken, email);
-    }
-}
\ No newline at end of file
+}
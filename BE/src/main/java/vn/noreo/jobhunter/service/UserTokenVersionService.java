@@ -0,0 +1,36 @@
+package vn.noreo.jobhunter.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Service;
+
+import vn.noreo.jobhunter.repository.UserRepository;
+
+// Per-user access token version: bumped when a user's role or company changes,
+// so only that user's tokens are rejected (not every holder of the role).
+// Versions are kept in memory, read from the DB once per user
+@Service
+public class UserTokenVersionService {
+
+    private final UserRepository userRepository;
+    private final ConcurrentHashMap<Long, Long> versions = new ConcurrentHashMap<>();
+
+    public UserTokenVersionService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    // false for a deleted user
+    public boolean isCurrentVersion(long userId, long tokenVersion) {
+        Long version = this.versions.computeIfAbsent(userId, this.userRepository::findTokenVersionById);
+        return version != null && version == tokenVersion;
+    }
+
+    // After the new version has been saved
+    public void handleVersionChanged(long userId, long tokenVersion) {
+        this.versions.put(userId, tokenVersion);
+    }
+
+    public void handleRemoveUser(long userId) {
+        this.versions.remove(userId);
+    }
+}
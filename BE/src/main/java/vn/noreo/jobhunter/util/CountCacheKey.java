@@ -0,0 +1,20 @@
+package vn.noreo.jobhunter.util;
+
+// Key of a cached count (?count=cached): the entity and every input that builds
+// the listing's Specification, normalized. Built by the controller, the only
+// place that knows them all (scope, extra parameters, ?filter=). The free-form
+// filter goes last => it cannot forge the other parts
+public final class CountCacheKey {
+
+    private CountCacheKey() {
+    }
+
+    public static String of(Class<?> domainClass, String filter, Object... parts) {
+        StringBuilder key = new StringBuilder(domainClass.getSimpleName());
+        for (Object part : parts) {
+            key.append('|').append(part);
+        }
+        key.append('|').append(filter != null ? filter.trim().replaceAll("\\s+", " ") : "");
+        return key.toString();
+    }
+}
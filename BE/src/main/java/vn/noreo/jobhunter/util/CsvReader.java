@@ -0,0 +1,94 @@
+package vn.noreo.jobhunter.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Streaming RFC 4180 reader: comma separated, fields may be quoted ("" = one
+// quote) and quoted fields may span several lines. One record in memory at a
+// time
+public class CsvReader {
+
+    private final Reader reader;
+    private int line = 1;
+    private int recordLine;
+    private int next = -2;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    // null at the end of the input
+    public List<String> readRecord() throws IOException {
+        int c = this.read();
+        if (c == -1) {
+            return null;
+        }
+        this.recordLine = this.line;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field starting at line " + this.recordLine);
+                }
+                if (c == '"') {
+                    int following = this.read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    this.countLine(c);
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int following = this.read();
+                    if (following != '\n') {
+                        this.next = following;
+                    }
+                }
+                if (c != -1) {
+                    this.line++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = this.read();
+        }
+    }
+
+    // Line where the last record read starts (1-based)
+    public int getRecordLine() {
+        return this.recordLine;
+    }
+
+    private int read() throws IOException {
+        if (this.next != -2) {
+            int c = this.next;
+            this.next = -2;
+            return c;
+        }
+        return this.reader.read();
+    }
+
+    private void countLine(int c) {
+        if (c == '\n') {
+            this.line++;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package vn.noreo.jobhunter.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Principal of the current request, resolved once (see
+// SecurityUtil.getCurrentUserSnapshot) and shared by the interceptor, the
+// services and the @PrePersist/@PreUpdate hooks
+@Getter
+@AllArgsConstructor
+public class CurrentUserSnapshot {
+
+    private final Long id;
+    private final String email;
+    private final String name;
+    private final Long roleId;
+    private final Long permissionVersion;
+    private final Long tokenVersion;
+    private final Long companyId;
+}
@@ -0,0 +1,95 @@
+package vn.noreo.jobhunter.util;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.stereotype.Component;
+
+import com.nimbusds.jose.util.Base64;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Shared by the resource server (access token) and /auth/refresh (refresh token):
+// the decoder is built once and recently verified tokens are kept in a bounded
+// LRU, so repeated tokens skip HMAC-SHA512 verification and JSON parsing
+@Component
+public class JwtTokenVerifier {
+
+    private final NimbusJwtDecoder jwtDecoder;
+    private final Map<String, Jwt> verifiedTokens;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public JwtTokenVerifier(
+            @Value("${jwt.KEY.base64-secret}") String jwtKey,
+            @Value("${jwt.verified-token-cache-size:10000}") int cacheSize,
+            MeterRegistry meterRegistry) {
+        byte[] jwtKeyBytes = Base64.from(jwtKey).decode();
+        SecretKey secretKey = new SecretKeySpec(jwtKeyBytes, 0, jwtKeyBytes.length,
+                SecurityUtil.JWT_ALGORITHM.getName());
+        this.jwtDecoder = NimbusJwtDecoder.withSecretKey(secretKey).macAlgorithm(SecurityUtil.JWT_ALGORITHM).build();
+
+        // Access order + removeEldestEntry => LRU
+        this.verifiedTokens = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Jwt> eldest) {
+                return size() > cacheSize;
+            }
+        };
+
+        this.cacheHits = Counter.builder("jwt.verification.cache").tag("result", "hit").register(meterRegistry);
+        this.cacheMisses = Counter.builder("jwt.verification.cache").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("jwt.verification.cache.size", this, JwtTokenVerifier::cacheSize).register(meterRegistry);
+    }
+
+    public Jwt decode(String token) throws JwtException {
+        String signature = extractSignature(token);
+        if (signature != null) {
+            Jwt cachedJwt;
+            synchronized (this.verifiedTokens) {
+                cachedJwt = this.verifiedTokens.get(signature);
+            }
+            // Compare the whole token, the signature is only the lookup key
+            if (cachedJwt != null && cachedJwt.getTokenValue().equals(token)) {
+                if (Instant.now().isBefore(cachedJwt.getExpiresAt())) {
+                    this.cacheHits.increment();
+                    return cachedJwt;
+                }
+                synchronized (this.verifiedTokens) {
+                    this.verifiedTokens.remove(signature);
+                }
+            }
+        }
+
+        this.cacheMisses.increment();
+        Jwt jwt = this.jwtDecoder.decode(token);
+        if (signature != null && jwt.getExpiresAt() != null) {
+            synchronized (this.verifiedTokens) {
+                this.verifiedTokens.put(signature, jwt);
+            }
+        }
+        return jwt;
+    }
+
+    private int cacheSize() {
+        synchronized (this.verifiedTokens) {
+            return this.verifiedTokens.size();
+        }
+    }
+
+    // JWS compact serialization: header.payload.signature
+    private static String extractSignature(String token) {
+        int lastDot = token != null ? token.lastIndexOf('.') : -1;
+        return lastDot > 0 && lastDot < token.length() - 1 ? token.substring(lastDot + 1) : null;
+    }
+}
@@ -0,0 +1,125 @@
+package vn.noreo.jobhunter.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.data.domain.Sort;
+
+import lombok.Getter;
+import vn.noreo.jobhunter.util.error.IdInvalidException;
+
+// Opaque cursor for keyset pagination: sort property + direction, sort key and
+// id of the boundary row, and whether it points forward (next) or backward
+// (prev). Encoded as base64url("n|property|ASC|id|=value") + "." +
+// base64url(HMAC-SHA256, 16 bytes), "~" = null value. Signed: a cursor is only
+// accepted if the server issued it
+@Getter
+public class KeysetCursor {
+
+    private final boolean backward;
+    private final String property;
+    private final Sort.Direction direction;
+    private final long id;
+    private final String value;
+
+    public KeysetCursor(boolean backward, String property, Sort.Direction direction, long id, Object value) {
+        this.backward = backward;
+        this.property = property;
+        this.direction = direction;
+        this.id = id;
+        this.value = value != null ? toRaw(value) : null;
+    }
+
+    public String encode(byte[] key) {
+        String raw = (this.backward ? "p" : "n") + "|" + this.property + "|" + this.direction.name() + "|" + this.id
+                + "|" + (this.value != null ? "=" + this.value : "~");
+        byte[] payload = raw.getBytes(StandardCharsets.UTF_8);
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payload) + "." + encoder.encodeToString(sign(payload, key));
+    }
+
+    public static KeysetCursor decode(String cursor, byte[] key) throws IdInvalidException {
+        try {
+            int dot = cursor.indexOf('.');
+            if (dot < 0) {
+                throw new IdInvalidException("Cursor is invalid");
+            }
+            byte[] payload = Base64.getUrlDecoder().decode(cursor.substring(0, dot));
+            byte[] signature = Base64.getUrlDecoder().decode(cursor.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, sign(payload, key))) {
+                throw new IdInvalidException("Cursor is invalid");
+            }
+            String raw = new String(payload, StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 5);
+            if (parts.length != 5 || !(parts[0].equals("n") || parts[0].equals("p"))) {
+                throw new IdInvalidException("Cursor is invalid");
+            }
+            KeysetCursor keysetCursor = new KeysetCursor(parts[0].equals("p"), parts[1],
+                    Sort.Direction.valueOf(parts[2]), Long.parseLong(parts[3]), null);
+            return parts[4].startsWith("=") ? keysetCursor.withValue(parts[4].substring(1)) : keysetCursor;
+        } catch (IllegalArgumentException e) {
+            throw new IdInvalidException("Cursor is invalid");
+        }
+    }
+
+    // Convert the raw value back to the type of the sort attribute
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public Comparable<?> getTypedValue(Class<?> type) throws IdInvalidException {
+        if (this.value == null) {
+            return null;
+        }
+        try {
+            if (type == String.class) {
+                return this.value;
+            } else if (type == Instant.class) {
+                return Instant.parse(this.value);
+            } else if (type == Long.class || type == long.class) {
+                return Long.valueOf(this.value);
+            } else if (type == Integer.class || type == int.class) {
+                return Integer.valueOf(this.value);
+            } else if (type == Double.class || type == double.class) {
+                return Double.valueOf(this.value);
+            } else if (type == Boolean.class || type == boolean.class) {
+                return Boolean.valueOf(this.value);
+            } else if (type.isEnum()) {
+                return Enum.valueOf((Class<Enum>) type, this.value);
+            }
+        } catch (RuntimeException e) {
+            throw new IdInvalidException("Cursor is invalid");
+        }
+        throw new IdInvalidException("Sorting by " + this.property + " is not supported with a cursor");
+    }
+
+    private KeysetCursor(KeysetCursor source, String value) {
+        this.backward = source.backward;
+        this.property = source.property;
+        this.direction = source.direction;
+        this.id = source.id;
+        this.value = value;
+    }
+
+    private KeysetCursor withValue(String value) {
+        return new KeysetCursor(this, value);
+    }
+
+    private static byte[] sign(byte[] payload, byte[] key) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return Arrays.copyOf(mac.doFinal(payload), 16);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toRaw(Object value) {
+        return value instanceof Enum<?> enumValue ? enumValue.name() : value.toString();
+    }
+}
@@ -2,12 +2,9 @@ package vn.noreo.jobhunter.util;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-
-import javax.crypto.SecretKey;
-import javax.crypto.spec.SecretKeySpec;
+import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
@@ -20,34 +17,38 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
-import com.nimbusds.jose.util.Base64;
-
+import vn.noreo.jobhunter.domain.RefreshToken;
+import vn.noreo.jobhunter.domain.Role;
 import vn.noreo.jobhunter.domain.response.ResLoginDTO;
 
 @Service
 public class SecurityUtil {
 
     public static final MacAlgorithm JWT_ALGORITHM = MacAlgorithm.HS512;
+    public static final String ROLE_ID_CLAIM = "role_id";
+    public static final String PERMISSION_VERSION_CLAIM = "permission_version";
+    public static final String TOKEN_VERSION_CLAIM = "token_version";
+    public static final String REFRESH_FAMILY_CLAIM = "fid";
+    public static final String COMPANY_ID_CLAIM = "company_id";
+
+    private static final String CURRENT_USER_ATTRIBUTE = SecurityUtil.class.getName() + ".currentUser";
 
     private final JwtEncoder jwtEncoder;
+    private final JwtTokenVerifier jwtTokenVerifier;
 
-    public SecurityUtil(JwtEncoder jwtEncoder) {
+    public SecurityUtil(JwtEncoder jwtEncoder, JwtTokenVerifier jwtTokenVerifier) {
         this.jwtEncoder = jwtEncoder;
+        this.jwtTokenVerifier = jwtTokenVerifier;
     }
 
-    @Value("${jwt.KEY.base64-secret}")
-    private String jwtKey;
-
     @Value("${jwt.access-token-validity-in-seconds}")
     private long accessTokenExpiration;
 
-    @Value("${jwt.refresh-token-validity-in-seconds}")
-    private long refreshTokenExpiration;
-
-    public String createAccessToken(String email, ResLoginDTO resLoginDTO) {
+    public String createAccessToken(String email, ResLoginDTO resLoginDTO, Long companyId, long tokenVersion) {
         ResLoginDTO.UserInsideToken userInsideToken = new ResLoginDTO.UserInsideToken();
         userInsideToken.setId(resLoginDTO.getUser().getId());
         userInsideToken.setEmail(resLoginDTO.getUser().getEmail());
@@ -56,54 +57,56 @@ public class SecurityUtil {
         Instant now = Instant.now();
         Instant validity = now.plus(this.accessTokenExpiration, ChronoUnit.SECONDS);
 
-        List<String> listAuthorities = new ArrayList<String>();
-
-        listAuthorities.add("ROLE_USER_CREATE");
-        listAuthorities.add("ROLE_USER_UPDATE");
         // Create JWT claims set (Payload - Data)
-        JwtClaimsSet claims = JwtClaimsSet.builder()
+        // jti => the token can be revoked (logout)
+        JwtClaimsSet.Builder claimsBuilder = JwtClaimsSet.builder()
+                .id(UUID.randomUUID().toString())
                 .issuedAt(now)
                 .expiresAt(validity)
                 .subject(email)
-                .claim("user", userInsideToken)
-                .claim("permission", listAuthorities)
-                .build();
+                .claim("user", userInsideToken);
+
+        // Role id + permission version => PermissionInterceptor authorizes without DB
+        Role role = resLoginDTO.getUser().getRole();
+        if (role != null) {
+            claimsBuilder.claim(ROLE_ID_CLAIM, role.getId());
+            claimsBuilder.claim(PERMISSION_VERSION_CLAIM, role.getPermissionVersion());
+        }
+        if (companyId != null) {
+            claimsBuilder.claim(COMPANY_ID_CLAIM, companyId);
+        }
+        // Per-user version => a role/company change invalidates this user's tokens only
+        claimsBuilder.claim(TOKEN_VERSION_CLAIM, tokenVersion);
+        JwtClaimsSet claims = claimsBuilder.build();
         JwsHeader jwsHeader = JwsHeader.with(JWT_ALGORITHM).build();
         return this.jwtEncoder.encode(JwtEncoderParameters.from(jwsHeader,
                 claims)).getTokenValue();
     }
 
-    public String createRefreshToken(String email, ResLoginDTO resLoginDTO) {
+    public String createRefreshToken(String email, ResLoginDTO resLoginDTO, RefreshToken refreshToken) {
         ResLoginDTO.UserInsideToken userInsideToken = new ResLoginDTO.UserInsideToken();
         userInsideToken.setId(resLoginDTO.getUser().getId());
         userInsideToken.setEmail(resLoginDTO.getUser().getEmail());
         userInsideToken.setName(resLoginDTO.getUser().getName());
 
-        Instant now = Instant.now();
-        Instant validity = now.plus(this.refreshTokenExpiration, ChronoUnit.SECONDS);
-
         // Create JWT claims set (Payload - Data)
+        // jti + family id => lookup in the refresh token store
         JwtClaimsSet claims = JwtClaimsSet.builder()
-                .issuedAt(now)
-                .expiresAt(validity)
+                .id(refreshToken.getJti())
+                .issuedAt(refreshToken.getCreatedAt())
+                .expiresAt(refreshToken.getExpiresAt())
                 .subject(email)
                 .claim("user", userInsideToken)
+                .claim(REFRESH_FAMILY_CLAIM, refreshToken.getFamilyId())
                 .build();
         JwsHeader jwsHeader = JwsHeader.with(JWT_ALGORITHM).build();
         return this.jwtEncoder.encode(JwtEncoderParameters.from(jwsHeader,
                 claims)).getTokenValue();
     }
 
-    private SecretKey getSecretKey() {
-        byte[] jwtKeyBytes = Base64.from(jwtKey).decode();
-        return new SecretKeySpec(jwtKeyBytes, 0, jwtKeyBytes.length, JWT_ALGORITHM.getName());
-    }
-
     public Jwt checkValidRefreshToken(String refreshToken) {
-        NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withSecretKey(
-                getSecretKey()).macAlgorithm(SecurityUtil.JWT_ALGORITHM).build();
         try {
-            return jwtDecoder.decode(refreshToken);
+            return this.jwtTokenVerifier.decode(refreshToken);
         } catch (Exception e) {
             System.out.println(">>> Refresh token error: " + e.getMessage());
             throw e;
@@ -111,7 +114,53 @@ public class SecurityUtil {
     }
 
     public static Optional<String> getCurrentUserLogin() {
-        return Optional.ofNullable(extractPrincipal(SecurityContextHolder.getContext().getAuthentication()));
+        return getCurrentUserSnapshot().map(CurrentUserSnapshot::getEmail);
+    }
+
+    // Resolved at most once per request (cached as a request attribute), built from
+    // the JWT claims => no DB lookup
+    public static Optional<CurrentUserSnapshot> getCurrentUserSnapshot() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return Optional.empty();
+        }
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            Object cached = attributes.getAttribute(CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            // Rebuild if the authentication changed during the request (e.g. login)
+            if (cached instanceof CachedSnapshot cachedSnapshot && cachedSnapshot.authentication() == authentication) {
+                return Optional.ofNullable(cachedSnapshot.snapshot());
+            }
+        }
+
+        CurrentUserSnapshot snapshot = buildSnapshot(authentication);
+        if (attributes != null) {
+            attributes.setAttribute(CURRENT_USER_ATTRIBUTE, new CachedSnapshot(authentication, snapshot),
+                    RequestAttributes.SCOPE_REQUEST);
+        }
+        return Optional.ofNullable(snapshot);
+    }
+
+    private static CurrentUserSnapshot buildSnapshot(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof Jwt jwt) {
+            Long id = null;
+            String name = null;
+            if (jwt.getClaims().get("user") instanceof Map<?, ?> userClaim) {
+                id = userClaim.get("id") instanceof Number number ? number.longValue() : null;
+                name = userClaim.get("name") instanceof String userName ? userName : null;
+            }
+            return new CurrentUserSnapshot(id, jwt.getSubject(), name,
+                    getLongClaim(jwt, ROLE_ID_CLAIM),
+                    getLongClaim(jwt, PERMISSION_VERSION_CLAIM),
+                    getLongClaim(jwt, TOKEN_VERSION_CLAIM),
+                    getLongClaim(jwt, COMPANY_ID_CLAIM));
+        }
+        String email = extractPrincipal(authentication);
+        return email != null ? new CurrentUserSnapshot(null, email, null, null, null, null, null) : null;
+    }
+
+    private record CachedSnapshot(Authentication authentication, CurrentUserSnapshot snapshot) {
     }
 
     private static String extractPrincipal(Authentication authentication) {
@@ -127,6 +176,19 @@ public class SecurityUtil {
         return null;
     }
 
+    public static Optional<Jwt> getCurrentJwt() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof Jwt jwt) {
+            return Optional.of(jwt);
+        }
+        return Optional.empty();
+    }
+
+    public static Long getLongClaim(Jwt jwt, String claimName) {
+        Object value = jwt.getClaims().get(claimName);
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
     public static Optional<String> getCurrentUserJWT() {
         SecurityContext securityContext = SecurityContextHolder.getContext();
         return Optional.ofNullable(securityContext.getAuthentication())
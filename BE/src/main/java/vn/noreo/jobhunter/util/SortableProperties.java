@@ -0,0 +1,48 @@
+package vn.noreo.jobhunter.util;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.data.domain.Sort;
+
+import vn.noreo.jobhunter.domain.Company;
+import vn.noreo.jobhunter.domain.Job;
+import vn.noreo.jobhunter.domain.Permission;
+import vn.noreo.jobhunter.domain.Resume;
+import vn.noreo.jobhunter.domain.Role;
+import vn.noreo.jobhunter.domain.Skill;
+import vn.noreo.jobhunter.domain.User;
+import vn.noreo.jobhunter.util.error.IdInvalidException;
+
+// Scalar properties a listing may be sorted by (?sort=). Anything else (other
+// columns such as password, nested or collection paths) is rejected: the sort
+// key of the boundary row is copied into keyset cursors, and ordering by a
+// column leaks it anyway
+public final class SortableProperties {
+
+    private static final Set<String> AUDIT = Set.of("id", "createdAt", "updatedAt", "createdBy", "updatedBy");
+
+    private static final Map<Class<?>, Set<String>> PROPERTIES = Map.of(
+            Job.class, Set.of("name", "location", "salary", "quantity", "level", "startDate", "endDate", "active"),
+            Resume.class, Set.of("email", "url", "status"),
+            User.class, Set.of("name", "email", "age", "gender", "address"),
+            Company.class, Set.of("name", "address"),
+            Skill.class, Set.of("name"),
+            Role.class, Set.of("name", "active"),
+            Permission.class, Set.of("name", "apiPath", "method", "module"));
+
+    private SortableProperties() {
+    }
+
+    public static boolean isSortable(Class<?> domainClass, String property) {
+        return AUDIT.contains(property) || PROPERTIES.getOrDefault(domainClass, Set.of()).contains(property);
+    }
+
+    public static void check(Class<?> domainClass, Sort sort) throws IdInvalidException {
+        for (Sort.Order order : sort) {
+            if (!isSortable(domainClass, order.getProperty())) {
+                throw new IdInvalidException("Cannot sort by " + order.getProperty());
+            }
+        }
+    }
+}
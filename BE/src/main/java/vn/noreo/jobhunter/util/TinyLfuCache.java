@@ -0,0 +1,255 @@
+package vn.noreo.jobhunter.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+// Size-aware W-TinyLFU cache: new entries land in a small LRU window (1% of the
+// weight), entries leaving the window compete with the main space victim and
+// the one seen less often (count-min sketch, 4-bit counters, periodically
+// halved) is evicted. The main space is a segmented LRU: probation (20%) and
+// protected (80%), an entry hit in probation is promoted. Synchronized, meant
+// for small hot sets
+public class TinyLfuCache<K, V> {
+
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL,
+            0xcbf29ce484222325L };
+
+    private final long maxWeight;
+    private final long windowMaxWeight;
+    private final long protectedMaxWeight;
+
+    // Access-ordered by hand: eldest first
+    private final LinkedHashMap<K, Node<V>> window = new LinkedHashMap<>();
+    private final LinkedHashMap<K, Node<V>> probation = new LinkedHashMap<>();
+    private final LinkedHashMap<K, Node<V>> protectedSegment = new LinkedHashMap<>();
+    private long windowWeight;
+    private long probationWeight;
+    private long protectedWeight;
+
+    // Frequency sketch: 16 counters of 4 bits per long
+    private final long[] table;
+    private final int counterMask;
+    private final int sampleSize;
+    private int additions;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public TinyLfuCache(long maxWeight, int expectedEntries) {
+        this.maxWeight = maxWeight;
+        this.windowMaxWeight = Math.max(1, maxWeight / 100);
+        this.protectedMaxWeight = (maxWeight - this.windowMaxWeight) * 8 / 10;
+
+        int counters = Integer.highestOneBit(Math.max(16, expectedEntries) * 4 - 1) << 1;
+        this.table = new long[counters / 16];
+        this.counterMask = counters - 1;
+        this.sampleSize = 10 * Math.max(16, expectedEntries);
+    }
+
+    public synchronized V get(K key) {
+        this.increment(key);
+        Node<V> node = this.window.remove(key);
+        if (node != null) {
+            this.window.put(key, node);
+        } else if ((node = this.probation.remove(key)) != null) {
+            this.probationWeight -= node.weight;
+            this.protectedSegment.put(key, node);
+            this.protectedWeight += node.weight;
+            this.demoteProtected();
+        } else if ((node = this.protectedSegment.remove(key)) != null) {
+            this.protectedSegment.put(key, node);
+        }
+
+        if (node == null) {
+            this.misses++;
+            return null;
+        }
+        this.hits++;
+        return node.value;
+    }
+
+    // weight > maxWeight => not cached
+    public synchronized void put(K key, V value, long weight) {
+        this.removeNode(key);
+        if (weight > this.maxWeight) {
+            return;
+        }
+        this.increment(key);
+        this.window.put(key, new Node<>(value, weight));
+        this.windowWeight += weight;
+        this.evict();
+    }
+
+    // put only while condition holds, checked under the cache lock => atomic with
+    // respect to a concurrent invalidate/invalidateIf
+    public synchronized boolean putIf(K key, V value, long weight, BooleanSupplier condition) {
+        if (!condition.getAsBoolean()) {
+            return false;
+        }
+        this.put(key, value, weight);
+        return true;
+    }
+
+    public synchronized void invalidate(K key) {
+        this.removeNode(key);
+    }
+
+    public synchronized void invalidateIf(Predicate<V> predicate) {
+        this.windowWeight -= removeIf(this.window, predicate);
+        this.probationWeight -= removeIf(this.probation, predicate);
+        this.protectedWeight -= removeIf(this.protectedSegment, predicate);
+    }
+
+    public synchronized int size() {
+        return this.window.size() + this.probation.size() + this.protectedSegment.size();
+    }
+
+    public synchronized long weight() {
+        return this.windowWeight + this.probationWeight + this.protectedWeight;
+    }
+
+    public synchronized long hitCount() {
+        return this.hits;
+    }
+
+    public synchronized long missCount() {
+        return this.misses;
+    }
+
+    public synchronized long evictionCount() {
+        return this.evictions;
+    }
+
+    private void evict() {
+        // Window overflow => its eldest entries move to probation, the last one
+        // moved is the admission candidate
+        K candidate = null;
+        while (this.windowWeight > this.windowMaxWeight && !this.window.isEmpty()) {
+            Map.Entry<K, Node<V>> eldest = this.window.entrySet().iterator().next();
+            this.window.remove(eldest.getKey());
+            this.windowWeight -= eldest.getValue().weight;
+            this.probation.put(eldest.getKey(), eldest.getValue());
+            this.probationWeight += eldest.getValue().weight;
+            candidate = eldest.getKey();
+        }
+
+        while (this.weight() > this.maxWeight) {
+            if (this.probation.isEmpty()) {
+                this.evictEldest(this.protectedSegment.isEmpty() ? this.window : this.protectedSegment);
+                continue;
+            }
+            // Admission: the candidate stays only if seen more often than the victim
+            K victim = this.probation.keySet().iterator().next();
+            K evicted = candidate == null || victim.equals(candidate)
+                    || this.frequency(candidate) > this.frequency(victim) ? victim : candidate;
+            if (evicted == candidate) {
+                candidate = null;
+            }
+            this.probationWeight -= this.probation.remove(evicted).weight;
+            this.evictions++;
+        }
+    }
+
+    private void demoteProtected() {
+        while (this.protectedWeight > this.protectedMaxWeight && !this.protectedSegment.isEmpty()) {
+            Map.Entry<K, Node<V>> eldest = this.protectedSegment.entrySet().iterator().next();
+            this.protectedSegment.remove(eldest.getKey());
+            this.protectedWeight -= eldest.getValue().weight;
+            this.probation.put(eldest.getKey(), eldest.getValue());
+            this.probationWeight += eldest.getValue().weight;
+        }
+    }
+
+    private void evictEldest(LinkedHashMap<K, Node<V>> segment) {
+        Map.Entry<K, Node<V>> eldest = segment.entrySet().iterator().next();
+        segment.remove(eldest.getKey());
+        long weight = eldest.getValue().weight;
+        if (segment == this.window) {
+            this.windowWeight -= weight;
+        } else {
+            this.protectedWeight -= weight;
+        }
+        this.evictions++;
+    }
+
+    private void removeNode(K key) {
+        Node<V> node;
+        if ((node = this.window.remove(key)) != null) {
+            this.windowWeight -= node.weight;
+        } else if ((node = this.probation.remove(key)) != null) {
+            this.probationWeight -= node.weight;
+        } else if ((node = this.protectedSegment.remove(key)) != null) {
+            this.protectedWeight -= node.weight;
+        }
+    }
+
+    private static <K, V> long removeIf(LinkedHashMap<K, Node<V>> segment, Predicate<V> predicate) {
+        long removedWeight = 0;
+        for (Iterator<Node<V>> iterator = segment.values().iterator(); iterator.hasNext();) {
+            Node<V> node = iterator.next();
+            if (predicate.test(node.value)) {
+                removedWeight += node.weight;
+                iterator.remove();
+            }
+        }
+        return removedWeight;
+    }
+
+    private void increment(K key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int counter = this.counterIndex(hash, i);
+            int index = counter >>> 4;
+            int shift = (counter & 15) << 2;
+            if (((this.table[index] >>> shift) & 15) < 15) {
+                this.table[index] += 1L << shift;
+                added = true;
+            }
+        }
+        // Aging: halve every counter once enough events were recorded
+        if (added && ++this.additions >= this.sampleSize) {
+            for (int i = 0; i < this.table.length; i++) {
+                this.table[i] = (this.table[i] >>> 1) & RESET_MASK;
+            }
+            this.additions /= 2;
+        }
+    }
+
+    private int frequency(K key) {
+        int hash = spread(key.hashCode());
+        int frequency = 15;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int counter = this.counterIndex(hash, i);
+            frequency = Math.min(frequency, (int) ((this.table[counter >>> 4] >>> ((counter & 15) << 2)) & 15));
+        }
+        return frequency;
+    }
+
+    private int counterIndex(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return (int) h & this.counterMask;
+    }
+
+    private static int spread(int hash) {
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+
+    private static class Node<V> {
+        private final V value;
+        private final long weight;
+
+        private Node(V value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package vn.noreo.jobhunter.util.constant;
+
+// Entity types whose writes invalidate the cached public listings
+public enum CachedEntityTypeEnum {
+    JOB, COMPANY, SKILL
+}
@@ -0,0 +1,22 @@
+package vn.noreo.jobhunter.util.constant;
+
+import vn.noreo.jobhunter.util.error.IdInvalidException;
+
+// How Meta.total/pages are computed for a listing (?count=...)
+// EXACT: count query, CACHED: count kept for a short TTL per filter,
+// ESTIMATED: table statistics, NONE: no count, only hasNext
+public enum CountStrategyEnum {
+    EXACT, CACHED, ESTIMATED, NONE;
+
+    public static CountStrategyEnum fromValue(String value) throws IdInvalidException {
+        if (value == null || value.isBlank()) {
+            return EXACT;
+        }
+        for (CountStrategyEnum strategy : values()) {
+            if (strategy.name().equalsIgnoreCase(value.trim())) {
+                return strategy;
+            }
+        }
+        throw new IdInvalidException("Count strategy " + value + " is not supported");
+    }
+}
@@ -0,0 +1,38 @@
+package vn.noreo.jobhunter.util.constant;
+
+import vn.noreo.jobhunter.util.error.IdInvalidException;
+
+// Format of the export endpoints (?format=...)
+public enum ExportFormatEnum {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv;charset=UTF-8", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormatEnum(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return this.contentType;
+    }
+
+    // attachment; filename="<name>.<extension>"
+    public String contentDisposition(String name) {
+        return "attachment; filename=\"" + name + "." + this.extension + "\"";
+    }
+
+    public static ExportFormatEnum fromValue(String value) throws IdInvalidException {
+        if (value == null || value.isBlank()) {
+            return NDJSON;
+        }
+        for (ExportFormatEnum format : values()) {
+            if (format.name().equalsIgnoreCase(value.trim())) {
+                return format;
+            }
+        }
+        throw new IdInvalidException("Export format " + value + " is not supported");
+    }
+}
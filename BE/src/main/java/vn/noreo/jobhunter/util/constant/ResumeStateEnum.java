@@ -1,5 +1,33 @@
 package vn.noreo.jobhunter.util.constant;
 
+import vn.noreo.jobhunter.util.error.IdInvalidException;
+
 public enum ResumeStateEnum {
     PENDING, REVIEWING, APPROVED, REJECTED;
+
+    // null/blank => null (every status)
+    public static ResumeStateEnum fromValue(String value) throws IdInvalidException {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        for (ResumeStateEnum state : values()) {
+            if (state.name().equalsIgnoreCase(value.trim())) {
+                return state;
+            }
+        }
+        throw new IdInvalidException("Resume status " + value + " is not supported");
+    }
+
+    // PENDING -> REVIEWING -> APPROVED/REJECTED, a pending resume may be decided
+    // directly. APPROVED and REJECTED are final
+    public boolean canTransitionTo(ResumeStateEnum target) {
+        switch (this) {
+            case PENDING:
+                return target == REVIEWING || target == APPROVED || target == REJECTED;
+            case REVIEWING:
+                return target == APPROVED || target == REJECTED;
+            default:
+                return false;
+        }
+    }
 }
@@ -3,6 +3,7 @@ package vn.noreo.jobhunter.util.error;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -88,4 +89,27 @@ public class GlobalException {
         restResponse.setError("Forbidden");
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(restResponse);
     }
+
+    // Token hợp lệ nhưng đã cũ (vd: permission của role đã thay đổi) => client
+    // cần refresh token
+    @ExceptionHandler(value = { InvalidTokenException.class })
+    public ResponseEntity<RestResponse<Object>> handleInvalidTokenExeption(Exception exception) {
+        RestResponse<Object> restResponse = new RestResponse<Object>();
+        restResponse.setStatusCode(HttpStatus.UNAUTHORIZED.value());
+        restResponse.setMessage(exception.getMessage());
+        restResponse.setError("Unauthorized");
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(restResponse);
+    }
+
+    // Pool xử lý mật khẩu (BCrypt) đang quá tải => client thử lại sau Retry-After giây
+    @ExceptionHandler(value = { ServiceBusyException.class })
+    public ResponseEntity<RestResponse<Object>> handleServiceBusyExeption(ServiceBusyException exception) {
+        RestResponse<Object> restResponse = new RestResponse<Object>();
+        restResponse.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE.value());
+        restResponse.setMessage(exception.getMessage());
+        restResponse.setError("Service Unavailable");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+                .body(restResponse);
+    }
 }
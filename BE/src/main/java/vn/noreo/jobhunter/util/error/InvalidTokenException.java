@@ -0,0 +1,7 @@
+package vn.noreo.jobhunter.util.error;
+
+public class InvalidTokenException extends Exception {
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+}
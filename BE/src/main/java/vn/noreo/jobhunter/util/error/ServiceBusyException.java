@@ -0,0 +1,16 @@
+package vn.noreo.jobhunter.util.error;
+
+// Unchecked: thrown from PasswordEncoder, which cannot declare checked exceptions
+public class ServiceBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,361 @@
+package vn.noreo.jobhunter.util.search;
+
+import java.util.Arrays;
+
+// Roaring-style compressed bitmap of non-negative int values: values are split by
+// their high 16 bits into containers, each container is either a sorted char[]
+// (sparse, up to 4096 values) or a 1024 x long bitset (dense, 8 KB). Not
+// thread-safe: callers synchronize
+public class CompressedBitmap {
+
+    private static final int ARRAY_MAX_SIZE = 4096;
+    private static final int BITSET_WORDS = 1024;
+
+    // Sorted high keys and their containers (char[] or long[])
+    private char[] keys = new char[0];
+    private Object[] containers = new Object[0];
+    private int[] cardinalities = new int[0];
+    private int size;
+
+    public void add(int value) {
+        char high = (char) (value >>> 16);
+        char low = (char) value;
+        int index = this.indexOf(high);
+        if (index < 0) {
+            index = -index - 1;
+            this.insertContainer(index, high, new char[4]);
+        }
+
+        Object container = this.containers[index];
+        int cardinality = this.cardinalities[index];
+        if (container instanceof long[] bits) {
+            long mask = 1L << low;
+            if ((bits[low >>> 6] & mask) == 0) {
+                bits[low >>> 6] |= mask;
+                this.cardinalities[index]++;
+            }
+            return;
+        }
+
+        char[] values = (char[]) container;
+        int position = Arrays.binarySearch(values, 0, cardinality, low);
+        if (position >= 0) {
+            return;
+        }
+        position = -position - 1;
+        if (cardinality == ARRAY_MAX_SIZE) {
+            // Too many values for an array => switch to a bitset
+            long[] bits = toBitset(values, cardinality);
+            bits[low >>> 6] |= 1L << low;
+            this.containers[index] = bits;
+            this.cardinalities[index]++;
+            return;
+        }
+        if (cardinality == values.length) {
+            values = Arrays.copyOf(values, Math.min(ARRAY_MAX_SIZE, cardinality * 2));
+            this.containers[index] = values;
+        }
+        System.arraycopy(values, position, values, position + 1, cardinality - position);
+        values[position] = low;
+        this.cardinalities[index]++;
+    }
+
+    public void remove(int value) {
+        int index = this.indexOf((char) (value >>> 16));
+        if (index < 0) {
+            return;
+        }
+        char low = (char) value;
+        Object container = this.containers[index];
+        int cardinality = this.cardinalities[index];
+        if (container instanceof long[] bits) {
+            long mask = 1L << low;
+            if ((bits[low >>> 6] & mask) == 0) {
+                return;
+            }
+            bits[low >>> 6] &= ~mask;
+            cardinality--;
+            this.cardinalities[index] = cardinality;
+            if (cardinality <= ARRAY_MAX_SIZE) {
+                this.containers[index] = toArray(bits, cardinality);
+            }
+        } else {
+            char[] values = (char[]) container;
+            int position = Arrays.binarySearch(values, 0, cardinality, low);
+            if (position < 0) {
+                return;
+            }
+            System.arraycopy(values, position + 1, values, position, cardinality - position - 1);
+            cardinality--;
+            this.cardinalities[index] = cardinality;
+        }
+        if (cardinality == 0) {
+            this.removeContainer(index);
+        }
+    }
+
+    public boolean contains(int value) {
+        int index = this.indexOf((char) (value >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        return this.containsLow(index, (char) value);
+    }
+
+    public int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < this.size; i++) {
+            cardinality += this.cardinalities[i];
+        }
+        return cardinality;
+    }
+
+    public void clear() {
+        this.keys = new char[0];
+        this.containers = new Object[0];
+        this.cardinalities = new int[0];
+        this.size = 0;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public CompressedBitmap copy() {
+        CompressedBitmap copy = new CompressedBitmap();
+        copy.keys = Arrays.copyOf(this.keys, this.size);
+        copy.cardinalities = Arrays.copyOf(this.cardinalities, this.size);
+        copy.containers = new Object[this.size];
+        for (int i = 0; i < this.size; i++) {
+            copy.containers[i] = this.containers[i] instanceof long[] bits ? bits.clone()
+                    : Arrays.copyOf((char[]) this.containers[i], this.cardinalities[i]);
+        }
+        copy.size = this.size;
+        return copy;
+    }
+
+    public static CompressedBitmap and(CompressedBitmap left, CompressedBitmap right) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < left.size && j < right.size) {
+            if (left.keys[i] < right.keys[j]) {
+                i++;
+            } else if (left.keys[i] > right.keys[j]) {
+                j++;
+            } else {
+                long[] bits = toBitset(left.containers[i], left.cardinalities[i]);
+                long[] otherBits = toBitset(right.containers[j], right.cardinalities[j]);
+                int cardinality = 0;
+                for (int w = 0; w < BITSET_WORDS; w++) {
+                    bits[w] &= otherBits[w];
+                    cardinality += Long.bitCount(bits[w]);
+                }
+                result.appendContainer(left.keys[i], bits, cardinality);
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    public static CompressedBitmap or(CompressedBitmap left, CompressedBitmap right) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < left.size || j < right.size) {
+            if (j >= right.size || (i < left.size && left.keys[i] < right.keys[j])) {
+                result.appendContainer(left.keys[i], toBitset(left.containers[i], left.cardinalities[i]),
+                        left.cardinalities[i]);
+                i++;
+            } else if (i >= left.size || left.keys[i] > right.keys[j]) {
+                result.appendContainer(right.keys[j], toBitset(right.containers[j], right.cardinalities[j]),
+                        right.cardinalities[j]);
+                j++;
+            } else {
+                long[] bits = toBitset(left.containers[i], left.cardinalities[i]);
+                long[] otherBits = toBitset(right.containers[j], right.cardinalities[j]);
+                int cardinality = 0;
+                for (int w = 0; w < BITSET_WORDS; w++) {
+                    bits[w] |= otherBits[w];
+                    cardinality += Long.bitCount(bits[w]);
+                }
+                result.appendContainer(left.keys[i], bits, cardinality);
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    // |left AND right| without building the intersection
+    public static int andCardinality(CompressedBitmap left, CompressedBitmap right) {
+        int cardinality = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.size && j < right.size) {
+            if (left.keys[i] < right.keys[j]) {
+                i++;
+            } else if (left.keys[i] > right.keys[j]) {
+                j++;
+            } else {
+                Object container = left.containers[i];
+                Object other = right.containers[j];
+                if (container instanceof long[] bits && other instanceof long[] otherBits) {
+                    for (int w = 0; w < BITSET_WORDS; w++) {
+                        cardinality += Long.bitCount(bits[w] & otherBits[w]);
+                    }
+                } else if (container instanceof char[] values) {
+                    for (int k = 0; k < left.cardinalities[i]; k++) {
+                        cardinality += right.containsLow(j, values[k]) ? 1 : 0;
+                    }
+                } else {
+                    char[] values = (char[]) other;
+                    for (int k = 0; k < right.cardinalities[j]; k++) {
+                        cardinality += left.containsLow(i, values[k]) ? 1 : 0;
+                    }
+                }
+                i++;
+                j++;
+            }
+        }
+        return cardinality;
+    }
+
+    public static CompressedBitmap of(long[] values) {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (long value : values) {
+            bitmap.add((int) value);
+        }
+        return bitmap;
+    }
+
+    // Values of left that are not in right
+    public static CompressedBitmap andNot(CompressedBitmap left, CompressedBitmap right) {
+        CompressedBitmap result = new CompressedBitmap();
+        for (int i = 0; i < left.size; i++) {
+            long[] bits = toBitset(left.containers[i], left.cardinalities[i]);
+            int j = right.indexOf(left.keys[i]);
+            if (j < 0) {
+                result.appendContainer(left.keys[i], bits, left.cardinalities[i]);
+                continue;
+            }
+            long[] otherBits = toBitset(right.containers[j], right.cardinalities[j]);
+            int cardinality = 0;
+            for (int w = 0; w < BITSET_WORDS; w++) {
+                bits[w] &= ~otherBits[w];
+                cardinality += Long.bitCount(bits[w]);
+            }
+            result.appendContainer(left.keys[i], bits, cardinality);
+        }
+        return result;
+    }
+
+    // Values in ascending order
+    public int[] toArray() {
+        int[] values = new int[this.cardinality()];
+        int n = 0;
+        for (int i = 0; i < this.size; i++) {
+            int high = this.keys[i] << 16;
+            Object container = this.containers[i];
+            if (container instanceof long[] bits) {
+                for (int w = 0; w < BITSET_WORDS; w++) {
+                    long word = bits[w];
+                    while (word != 0) {
+                        values[n++] = high | (w << 6) + Long.numberOfTrailingZeros(word);
+                        word &= word - 1;
+                    }
+                }
+            } else {
+                char[] lows = (char[]) container;
+                for (int k = 0; k < this.cardinalities[i]; k++) {
+                    values[n++] = high | lows[k];
+                }
+            }
+        }
+        return values;
+    }
+
+    // Approximate heap size in bytes (arrays only, object headers ignored)
+    public long sizeInBytes() {
+        long bytes = this.keys.length * 2L + this.containers.length * 4L + this.cardinalities.length * 4L;
+        for (int i = 0; i < this.size; i++) {
+            bytes += this.containers[i] instanceof long[] ? BITSET_WORDS * 8L
+                    : ((char[]) this.containers[i]).length * 2L;
+        }
+        return bytes;
+    }
+
+    private boolean containsLow(int index, char low) {
+        Object container = this.containers[index];
+        if (container instanceof long[] bits) {
+            return (bits[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch((char[]) container, 0, this.cardinalities[index], low) >= 0;
+    }
+
+    private int indexOf(char high) {
+        return Arrays.binarySearch(this.keys, 0, this.size, high);
+    }
+
+    private void insertContainer(int index, char high, Object container) {
+        if (this.size == this.keys.length) {
+            int capacity = Math.max(4, this.size * 2);
+            this.keys = Arrays.copyOf(this.keys, capacity);
+            this.containers = Arrays.copyOf(this.containers, capacity);
+            this.cardinalities = Arrays.copyOf(this.cardinalities, capacity);
+        }
+        System.arraycopy(this.keys, index, this.keys, index + 1, this.size - index);
+        System.arraycopy(this.containers, index, this.containers, index + 1, this.size - index);
+        System.arraycopy(this.cardinalities, index, this.cardinalities, index + 1, this.size - index);
+        this.keys[index] = high;
+        this.containers[index] = container;
+        this.cardinalities[index] = 0;
+        this.size++;
+    }
+
+    private void removeContainer(int index) {
+        System.arraycopy(this.keys, index + 1, this.keys, index, this.size - index - 1);
+        System.arraycopy(this.containers, index + 1, this.containers, index, this.size - index - 1);
+        System.arraycopy(this.cardinalities, index + 1, this.cardinalities, index, this.size - index - 1);
+        this.size--;
+        this.containers[this.size] = null;
+    }
+
+    // Result containers are built in key order: keep the smaller representation
+    private void appendContainer(char high, long[] bits, int cardinality) {
+        if (cardinality == 0) {
+            return;
+        }
+        this.insertContainer(this.size, high, cardinality <= ARRAY_MAX_SIZE ? toArray(bits, cardinality) : bits);
+        this.cardinalities[this.size - 1] = cardinality;
+    }
+
+    private static long[] toBitset(Object container, int cardinality) {
+        if (container instanceof long[] bits) {
+            return bits.clone();
+        }
+        return toBitset((char[]) container, cardinality);
+    }
+
+    private static long[] toBitset(char[] values, int cardinality) {
+        long[] bits = new long[BITSET_WORDS];
+        for (int k = 0; k < cardinality; k++) {
+            bits[values[k] >>> 6] |= 1L << values[k];
+        }
+        return bits;
+    }
+
+    private static char[] toArray(long[] bits, int cardinality) {
+        char[] values = new char[Math.max(4, cardinality)];
+        int n = 0;
+        for (int w = 0; w < BITSET_WORDS; w++) {
+            long word = bits[w];
+            while (word != 0) {
+                values[n++] = (char) ((w << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,197 @@
+package vn.noreo.jobhunter.util.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory inverted index with BM25 ranking. A document is a set of weighted
+// fields (a term in a field of weight 3 counts as 3 occurrences, BM25F-like).
+// Postings are stored per term in parallel primitive arrays (doc slot, weighted
+// frequency); documents are identified by a dense int slot mapped to the entity
+// id. Readers share a read lock, writers (index/remove) take the write lock
+public class InvertedIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<PostingList> postings = new ArrayList<>();
+
+    // Per document slot
+    private final Map<Long, Integer> slotsByKey = new HashMap<>();
+    private long[] keys = new long[1024];
+    private float[] lengths = new float[1024];
+    private int[][] termsBySlot = new int[1024][];
+    private int slotCount;
+    private final List<Integer> freeSlots = new ArrayList<>();
+
+    private int documentCount;
+    private double totalLength;
+
+    // Add or replace the document of this key
+    public void index(long key, String[] fields, float[] weights) {
+        Map<String, Float> frequencies = new HashMap<>();
+        float length = 0;
+        for (int i = 0; i < fields.length; i++) {
+            for (String term : VietnameseAnalyzer.analyze(fields[i])) {
+                frequencies.merge(term, weights[i], Float::sum);
+                length += weights[i];
+            }
+        }
+
+        this.lock.writeLock().lock();
+        try {
+            this.removeLocked(key);
+            int slot = this.allocateSlot(key);
+            int[] docTerms = new int[frequencies.size()];
+            int i = 0;
+            for (Map.Entry<String, Float> entry : frequencies.entrySet()) {
+                int termId = this.termIds.computeIfAbsent(entry.getKey(), term -> {
+                    this.postings.add(new PostingList());
+                    return this.postings.size() - 1;
+                });
+                this.postings.get(termId).add(slot, entry.getValue());
+                docTerms[i++] = termId;
+            }
+            this.termsBySlot[slot] = docTerms;
+            this.lengths[slot] = length;
+            this.documentCount++;
+            this.totalLength += length;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long key) {
+        this.lock.writeLock().lock();
+        try {
+            this.removeLocked(key);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.documentCount;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    // All matching keys, best first
+    public List<SearchHit> search(String query) {
+        List<String> queryTerms = VietnameseAnalyzer.analyze(query);
+        List<SearchHit> hits = new ArrayList<>();
+        if (queryTerms.isEmpty()) {
+            return hits;
+        }
+
+        this.lock.readLock().lock();
+        try {
+            if (this.documentCount == 0) {
+                return hits;
+            }
+            float averageLength = (float) (this.totalLength / this.documentCount);
+            float[] scores = new float[this.slotCount];
+            for (String term : queryTerms.stream().distinct().toList()) {
+                Integer termId = this.termIds.get(term);
+                if (termId == null) {
+                    continue;
+                }
+                PostingList postingList = this.postings.get(termId);
+                int df = postingList.size;
+                if (df == 0) {
+                    continue;
+                }
+                float idf = (float) Math.log(1 + (this.documentCount - df + 0.5) / (df + 0.5));
+                for (int i = 0; i < postingList.size; i++) {
+                    int slot = postingList.slots[i];
+                    float tf = postingList.frequencies[i];
+                    float norm = K1 * (1 - B + B * this.lengths[slot] / averageLength);
+                    scores[slot] += idf * tf * (K1 + 1) / (tf + norm);
+                }
+            }
+
+            for (int slot = 0; slot < scores.length; slot++) {
+                if (scores[slot] > 0) {
+                    hits.add(new SearchHit(this.keys[slot], scores[slot]));
+                }
+            }
+        } finally {
+            this.lock.readLock().unlock();
+        }
+        hits.sort((a, b) -> Float.compare(b.score(), a.score()));
+        return hits;
+    }
+
+    private void removeLocked(long key) {
+        Integer slot = this.slotsByKey.remove(key);
+        if (slot == null) {
+            return;
+        }
+        for (int termId : this.termsBySlot[slot]) {
+            this.postings.get(termId).remove(slot);
+        }
+        this.documentCount--;
+        this.totalLength -= this.lengths[slot];
+        this.termsBySlot[slot] = null;
+        this.lengths[slot] = 0;
+        this.freeSlots.add(slot);
+    }
+
+    private int allocateSlot(long key) {
+        int slot;
+        if (!this.freeSlots.isEmpty()) {
+            slot = this.freeSlots.remove(this.freeSlots.size() - 1);
+        } else {
+            if (this.slotCount == this.keys.length) {
+                int capacity = this.keys.length * 2;
+                this.keys = Arrays.copyOf(this.keys, capacity);
+                this.lengths = Arrays.copyOf(this.lengths, capacity);
+                this.termsBySlot = Arrays.copyOf(this.termsBySlot, capacity);
+            }
+            slot = this.slotCount++;
+        }
+        this.keys[slot] = key;
+        this.slotsByKey.put(key, slot);
+        return slot;
+    }
+
+    public record SearchHit(long key, float score) {
+    }
+
+    // Unordered (slot, frequency) pairs, removal swaps with the last entry
+    private static final class PostingList {
+        int[] slots = new int[4];
+        float[] frequencies = new float[4];
+        int size;
+
+        void add(int slot, float frequency) {
+            if (this.size == this.slots.length) {
+                this.slots = Arrays.copyOf(this.slots, this.size * 2);
+                this.frequencies = Arrays.copyOf(this.frequencies, this.size * 2);
+            }
+            this.slots[this.size] = slot;
+            this.frequencies[this.size] = frequency;
+            this.size++;
+        }
+
+        void remove(int slot) {
+            for (int i = 0; i < this.size; i++) {
+                if (this.slots[i] == slot) {
+                    this.size--;
+                    this.slots[i] = this.slots[this.size];
+                    this.frequencies[i] = this.frequencies[this.size];
+                    return;
+                }
+            }
+        }
+    }
+}
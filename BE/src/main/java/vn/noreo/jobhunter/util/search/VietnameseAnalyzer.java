@@ -0,0 +1,56 @@
+package vn.noreo.jobhunter.util.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+// Tokenizer for Vietnamese/English text: strips HTML (descriptions come from a
+// rich text editor), folds diacritics ("Lập trình" => "lap trinh", đ => d) and
+// lowercases. Vietnamese words are made of space separated syllables, so each
+// pair of adjacent syllables is also emitted as a term ("lap_trinh"): documents
+// containing the whole word rank above documents containing the syllables
+// apart
+public final class VietnameseAnalyzer {
+
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>|&[a-zA-Z]+;|&#\\d+;");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private VietnameseAnalyzer() {
+    }
+
+    public static String fold(String text) {
+        String withoutTags = HTML_TAG.matcher(text).replaceAll(" ");
+        String decomposed = Normalizer.normalize(withoutTags, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("")
+                .replace('đ', 'd').replace('Đ', 'D')
+                .toLowerCase();
+    }
+
+    // Syllables then bigrams
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+
+        String folded = fold(text);
+        List<String> syllables = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean letterOrDigit = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (letterOrDigit && start < 0) {
+                start = i;
+            } else if (!letterOrDigit && start >= 0) {
+                syllables.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+
+        terms.addAll(syllables);
+        for (int i = 1; i < syllables.size(); i++) {
+            terms.add(syllables.get(i - 1) + "_" + syllables.get(i));
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,118 @@
+package vn.noreo.jobhunter.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import jakarta.persistence.EntityManagerFactory;
+import vn.noreo.jobhunter.domain.Company;
+import vn.noreo.jobhunter.domain.Job;
+import vn.noreo.jobhunter.domain.Skill;
+import vn.noreo.jobhunter.domain.response.ResultPaginationDTO;
+import vn.noreo.jobhunter.domain.response.job.ResJobSummaryDTO;
+import vn.noreo.jobhunter.repository.PageIdQueryExecutor;
+import vn.noreo.jobhunter.util.constant.CountStrategyEnum;
+import vn.noreo.jobhunter.util.constant.LevelEnum;
+
+// The job listing runs the same number of statements whatever the page size
+// (ids page + count + summaries + skill names, no N+1 on company/skills)
+@DataJpaTest
+@Import({ JobService.class, PaginationService.class, PageIdQueryExecutor.class })
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+class JobServiceQueryCountTest {
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private JobSearchService jobSearchService;
+
+    @MockitoBean
+    private JobBitmapIndexService jobBitmapIndexService;
+
+    @MockitoBean
+    private EntityCacheService entityCacheService;
+
+    @MockitoBean
+    private ResponseCacheService responseCacheService;
+
+    @MockitoBean
+    private JobCounterService jobCounterService;
+
+    @BeforeEach
+    void setUp() {
+        List<Skill> skills = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Skill skill = new Skill();
+            skill.setName("Skill " + i);
+            skills.add(this.testEntityManager.persist(skill));
+        }
+        List<Company> companies = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Company company = new Company();
+            company.setName("Company " + i);
+            companies.add(this.testEntityManager.persist(company));
+        }
+        for (int i = 0; i < 60; i++) {
+            Job job = new Job();
+            job.setName("Job " + i);
+            job.setLocation("HANOI");
+            job.setLevel(LevelEnum.values()[i % LevelEnum.values().length]);
+            job.setActive(true);
+            job.setCompany(companies.get(i % companies.size()));
+            job.setSkills(List.of(skills.get(i % skills.size()), skills.get((i + 1) % skills.size())));
+            this.testEntityManager.persist(job);
+        }
+        this.testEntityManager.flush();
+        this.testEntityManager.clear();
+    }
+
+    @Test
+    void statementCountDoesNotDependOnPageSize() throws Exception {
+        long smallPageStatements = this.countStatements(1);
+        long largePageStatements = this.countStatements(50);
+
+        assertThat(smallPageStatements).isPositive();
+        assertThat(largePageStatements).isEqualTo(smallPageStatements);
+    }
+
+    @SuppressWarnings("unchecked")
+    private long countStatements(int pageSize) throws Exception {
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.testEntityManager.clear();
+        statistics.clear();
+
+        ResultPaginationDTO result = this.jobService.handleFetchAllJobs(null, PageRequest.of(0, pageSize),
+                CountStrategyEnum.EXACT, null);
+
+        List<ResJobSummaryDTO> jobs = (List<ResJobSummaryDTO>) result.getResult();
+        assertThat(jobs).hasSize(pageSize);
+        assertThat(jobs).allSatisfy(job -> {
+            assertThat(job.getCompany()).isNotNull();
+            assertThat(job.getSkills()).hasSize(2);
+        });
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,77 @@
+package vn.noreo.jobhunter.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+// RFC 4180 parsing: quoted fields, "" escapes, CRLF and record start lines
+class CsvReaderTest {
+
+    private static CsvReader reader(String csv) {
+        return new CsvReader(new StringReader(csv));
+    }
+
+    @Test
+    void readsRecordsSeparatedByCrlf() throws IOException {
+        CsvReader reader = reader("name,level\r\nJava,SENIOR\r\n");
+
+        assertThat(reader.readRecord()).containsExactly("name", "level");
+        assertThat(reader.readRecord()).containsExactly("Java", "SENIOR");
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void lastRecordWithoutLineBreakIsRead() throws IOException {
+        CsvReader reader = reader("a,b\nc,d");
+
+        assertThat(reader.readRecord()).containsExactly("a", "b");
+        assertThat(reader.readRecord()).containsExactly("c", "d");
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void emptyFieldsAreKept() throws IOException {
+        assertThat(reader(",,\n").readRecord()).containsExactly("", "", "");
+        assertThat(reader("\"\",x\n").readRecord()).containsExactly("", "x");
+    }
+
+    @Test
+    void doubledQuoteIsOneQuote() throws IOException {
+        CsvReader reader = reader("\"say \"\"hi\"\"\",\"a,b\",\"\"\"\"\n");
+
+        assertThat(reader.readRecord()).containsExactly("say \"hi\"", "a,b", "\"");
+    }
+
+    @Test
+    void quotedFieldSpansLines() throws IOException {
+        CsvReader reader = reader("1,\"line one\r\nline two\nline three\",x\r\n2,y,z\r\n");
+
+        assertThat(reader.readRecord()).containsExactly("1", "line one\r\nline two\nline three", "x");
+        assertThat(reader.getRecordLine()).isEqualTo(1);
+        assertThat(reader.readRecord()).containsExactly("2", "y", "z");
+        assertThat(reader.getRecordLine()).isEqualTo(4);
+    }
+
+    @Test
+    void bareCarriageReturnEndsRecord() throws IOException {
+        CsvReader reader = reader("a\rb\n");
+
+        assertThat(reader.readRecord()).containsExactly("a");
+        assertThat(reader.readRecord()).containsExactly("b");
+        assertThat(reader.getRecordLine()).isEqualTo(2);
+    }
+
+    @Test
+    void unterminatedQuoteReportsStartLine() throws IOException {
+        CsvReader reader = reader("a,b\nc,\"open\nstill open\n");
+
+        assertThat(reader.readRecord()).containsExactly("a", "b");
+        assertThatThrownBy(reader::readRecord)
+                .isInstanceOf(IOException.class)
+                .hasMessage("Unterminated quoted field starting at line 2");
+    }
+}
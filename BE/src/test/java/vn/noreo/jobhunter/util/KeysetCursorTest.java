@@ -0,0 +1,97 @@
+package vn.noreo.jobhunter.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import vn.noreo.jobhunter.util.constant.LevelEnum;
+import vn.noreo.jobhunter.util.error.IdInvalidException;
+
+// Encode/decode round trip and rejection of cursors the server did not issue
+class KeysetCursorTest {
+
+    private static final byte[] KEY = "cursor-signing-key-for-tests-only".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void roundTripKeepsEveryField() throws IdInvalidException {
+        Instant createdAt = Instant.parse("2025-03-01T08:30:00Z");
+        String cursor = new KeysetCursor(true, "createdAt", Sort.Direction.DESC, 42, createdAt).encode(KEY);
+
+        KeysetCursor decoded = KeysetCursor.decode(cursor, KEY);
+
+        assertThat(decoded.isBackward()).isTrue();
+        assertThat(decoded.getProperty()).isEqualTo("createdAt");
+        assertThat(decoded.getDirection()).isEqualTo(Sort.Direction.DESC);
+        assertThat(decoded.getId()).isEqualTo(42);
+        assertThat(decoded.getTypedValue(Instant.class)).isEqualTo(createdAt);
+    }
+
+    @Test
+    void roundTripKeepsSeparatorsAndNullValue() throws IdInvalidException {
+        String name = "Java | Spring =~ Đà Nẵng";
+        KeysetCursor decoded = KeysetCursor.decode(
+                new KeysetCursor(false, "name", Sort.Direction.ASC, 7, name).encode(KEY), KEY);
+        assertThat(decoded.isBackward()).isFalse();
+        assertThat(decoded.getTypedValue(String.class)).isEqualTo(name);
+
+        KeysetCursor withoutValue = KeysetCursor.decode(
+                new KeysetCursor(false, "salary", Sort.Direction.ASC, 7, null).encode(KEY), KEY);
+        assertThat(withoutValue.getValue()).isNull();
+        assertThat(withoutValue.getTypedValue(Double.class)).isNull();
+    }
+
+    @Test
+    void typedValueConvertsEnumsAndNumbers() throws IdInvalidException {
+        String level = new KeysetCursor(false, "level", Sort.Direction.ASC, 1, LevelEnum.SENIOR).encode(KEY);
+        String salary = new KeysetCursor(false, "salary", Sort.Direction.ASC, 1, 1500.5).encode(KEY);
+
+        assertThat(KeysetCursor.decode(level, KEY).getTypedValue(LevelEnum.class)).isEqualTo(LevelEnum.SENIOR);
+        assertThat(KeysetCursor.decode(salary, KEY).getTypedValue(double.class)).isEqualTo(1500.5);
+        assertThatThrownBy(() -> KeysetCursor.decode(salary, KEY).getTypedValue(Long.class))
+                .isInstanceOf(IdInvalidException.class);
+    }
+
+    @Test
+    void tamperedPayloadIsRejected() {
+        String cursor = new KeysetCursor(false, "id", Sort.Direction.ASC, 10, 10L).encode(KEY);
+        String signature = cursor.substring(cursor.indexOf('.'));
+        String forged = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("n|id|ASC|1|=1".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> KeysetCursor.decode(forged + signature, KEY))
+                .isInstanceOf(IdInvalidException.class)
+                .hasMessage("Cursor is invalid");
+    }
+
+    @Test
+    void tamperedSignatureIsRejected() {
+        String cursor = new KeysetCursor(false, "id", Sort.Direction.ASC, 10, 10L).encode(KEY);
+        // First signature character: all 6 bits are significant
+        int dot = cursor.indexOf('.');
+        String tampered = cursor.substring(0, dot + 1) + (cursor.charAt(dot + 1) == 'A' ? 'B' : 'A')
+                + cursor.substring(dot + 2);
+
+        assertThatThrownBy(() -> KeysetCursor.decode(tampered, KEY)).isInstanceOf(IdInvalidException.class);
+    }
+
+    @Test
+    void cursorSignedWithAnotherKeyIsRejected() {
+        String cursor = new KeysetCursor(false, "id", Sort.Direction.ASC, 10, 10L)
+                .encode("another-key".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> KeysetCursor.decode(cursor, KEY)).isInstanceOf(IdInvalidException.class);
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThatThrownBy(() -> KeysetCursor.decode("", KEY)).isInstanceOf(IdInvalidException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode("no-signature", KEY)).isInstanceOf(IdInvalidException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode("%%%.%%%", KEY)).isInstanceOf(IdInvalidException.class);
+    }
+}
@@ -0,0 +1,116 @@
+package vn.noreo.jobhunter.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+// Weight bound, frequency based admission and the generation check used by
+// EntityCacheService to drop values loaded before an invalidation
+class TinyLfuCacheTest {
+
+    private TinyLfuCache<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        this.cache = new TinyLfuCache<>(100, 64);
+    }
+
+    private void fill(int entries) {
+        for (int i = 0; i < entries; i++) {
+            this.cache.put("key" + i, "value" + i, 10);
+        }
+    }
+
+    @Test
+    void weightNeverExceedsMaximum() {
+        fill(20);
+
+        assertThat(this.cache.weight()).isLessThanOrEqualTo(100);
+        assertThat(this.cache.size()).isEqualTo(10);
+        assertThat(this.cache.evictionCount()).isEqualTo(10);
+    }
+
+    @Test
+    void replacingEntryReplacesItsWeight() {
+        this.cache.put("key", "small", 10);
+        this.cache.put("key", "large", 40);
+
+        assertThat(this.cache.size()).isEqualTo(1);
+        assertThat(this.cache.weight()).isEqualTo(40);
+        assertThat(this.cache.get("key")).isEqualTo("large");
+    }
+
+    @Test
+    void entryHeavierThanCacheIsNotCached() {
+        this.cache.put("key", "value", 10);
+        this.cache.put("key", "huge", 101);
+
+        assertThat(this.cache.get("key")).isNull();
+        assertThat(this.cache.weight()).isZero();
+    }
+
+    @Test
+    void frequentCandidateIsAdmitted() {
+        fill(10);
+        // Misses still count towards the frequency
+        for (int i = 0; i < 5; i++) {
+            this.cache.get("hot");
+        }
+        this.cache.put("hot", "hot", 10);
+
+        assertThat(this.cache.get("hot")).isEqualTo("hot");
+        assertThat(this.cache.get("key0")).isNull();
+        assertThat(this.cache.weight()).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    void rareCandidateIsRejected() {
+        // Every resident entry was written four times
+        for (int round = 0; round < 4; round++) {
+            fill(10);
+        }
+        this.cache.put("cold", "cold", 10);
+
+        assertThat(this.cache.get("cold")).isNull();
+        for (int i = 0; i < 10; i++) {
+            assertThat(this.cache.get("key" + i)).isEqualTo("value" + i);
+        }
+    }
+
+    @Test
+    void putIfSkipsValueLoadedBeforeInvalidation() {
+        AtomicLong generation = new AtomicLong();
+
+        long loadGeneration = generation.get();
+        // Concurrent invalidation while the value was being loaded
+        generation.incrementAndGet();
+        boolean stored = this.cache.putIf("key", "stale", 10, () -> loadGeneration == generation.get());
+
+        assertThat(stored).isFalse();
+        assertThat(this.cache.get("key")).isNull();
+
+        long currentGeneration = generation.get();
+        stored = this.cache.putIf("key", "fresh", 10, () -> currentGeneration == generation.get());
+
+        assertThat(stored).isTrue();
+        assertThat(this.cache.get("key")).isEqualTo("fresh");
+    }
+
+    @Test
+    void invalidateIfReleasesWeight() {
+        fill(6);
+        this.cache.get("key1");
+        this.cache.invalidateIf(value -> value.endsWith("1") || value.endsWith("2"));
+        this.cache.invalidate("key3");
+
+        assertThat(this.cache.size()).isEqualTo(3);
+        assertThat(this.cache.weight()).isEqualTo(30);
+        assertThat(this.cache.get("key1")).isNull();
+        assertThat(this.cache.get("key4")).isEqualTo("value4");
+        assertThat(this.cache.hitCount()).isEqualTo(2);
+        assertThat(this.cache.missCount()).isEqualTo(1);
+    }
+}
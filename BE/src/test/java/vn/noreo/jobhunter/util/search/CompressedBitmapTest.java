@@ -0,0 +1,139 @@
+package vn.noreo.jobhunter.util.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+// Array <=> bitset container transitions and set operations across containers,
+// checked against a TreeSet
+class CompressedBitmapTest {
+
+    // 4096 is the largest array container
+    private static final int ARRAY_MAX_SIZE = 4096;
+
+    private static CompressedBitmap range(int from, int to, int step) {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int value = from; value < to; value += step) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    private static int[] expected(TreeSet<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Test
+    void arrayContainerSwitchesToBitsetAndBack() {
+        CompressedBitmap bitmap = range(0, 2 * ARRAY_MAX_SIZE, 2);
+        assertThat(bitmap.cardinality()).isEqualTo(ARRAY_MAX_SIZE);
+
+        // One more value than an array holds
+        bitmap.add(1);
+        bitmap.add(1);
+        assertThat(bitmap.cardinality()).isEqualTo(ARRAY_MAX_SIZE + 1);
+        assertThat(bitmap.contains(1)).isTrue();
+        assertThat(bitmap.contains(3)).isFalse();
+        assertThat(bitmap.contains(2 * ARRAY_MAX_SIZE - 2)).isTrue();
+
+        // Back under the threshold
+        bitmap.remove(0);
+        bitmap.remove(0);
+        assertThat(bitmap.cardinality()).isEqualTo(ARRAY_MAX_SIZE);
+        assertThat(bitmap.contains(0)).isFalse();
+        assertThat(bitmap.contains(1)).isTrue();
+        bitmap.add(5);
+        assertThat(bitmap.toArray()).startsWith(1, 2, 4, 5, 6);
+        assertThat(bitmap.cardinality()).isEqualTo(ARRAY_MAX_SIZE + 1);
+    }
+
+    @Test
+    void removingLastValueDropsContainer() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        bitmap.add(70_000);
+        bitmap.add(3);
+        bitmap.remove(70_000);
+        bitmap.remove(70_001);
+        assertThat(bitmap.toArray()).containsExactly(3);
+
+        bitmap.remove(3);
+        assertThat(bitmap.isEmpty()).isTrue();
+        assertThat(bitmap.cardinality()).isZero();
+    }
+
+    @Test
+    void andOrAndNotAcrossContainerKinds() {
+        // Container 0: dense on the left, sparse on the right; container 1: only
+        // on the left; container 2: sparse on both sides; container 3: only on the right
+        CompressedBitmap left = range(0, 10_000, 1);
+        left.add(65_536 + 7);
+        left.add(2 * 65_536 + 1);
+        left.add(2 * 65_536 + 2);
+
+        CompressedBitmap right = range(0, 20_000, 3);
+        right.add(2 * 65_536 + 2);
+        right.add(2 * 65_536 + 9);
+        right.add(3 * 65_536);
+
+        TreeSet<Integer> leftSet = new TreeSet<>();
+        IntStream.of(left.toArray()).forEach(leftSet::add);
+        TreeSet<Integer> rightSet = new TreeSet<>();
+        IntStream.of(right.toArray()).forEach(rightSet::add);
+
+        TreeSet<Integer> intersection = new TreeSet<>(leftSet);
+        intersection.retainAll(rightSet);
+        TreeSet<Integer> union = new TreeSet<>(leftSet);
+        union.addAll(rightSet);
+        TreeSet<Integer> difference = new TreeSet<>(leftSet);
+        difference.removeAll(rightSet);
+
+        assertThat(CompressedBitmap.and(left, right).toArray()).containsExactly(expected(intersection));
+        assertThat(CompressedBitmap.andCardinality(left, right)).isEqualTo(intersection.size());
+        assertThat(CompressedBitmap.andCardinality(right, left)).isEqualTo(intersection.size());
+        assertThat(CompressedBitmap.or(left, right).toArray()).containsExactly(expected(union));
+        assertThat(CompressedBitmap.andNot(left, right).toArray()).containsExactly(expected(difference));
+    }
+
+    @Test
+    void operationsDoNotModifyOperands() {
+        CompressedBitmap left = range(0, 5_000, 1);
+        CompressedBitmap right = range(0, 5_000, 2);
+        int[] leftValues = left.toArray();
+        int[] rightValues = right.toArray();
+
+        CompressedBitmap.and(left, right);
+        CompressedBitmap.or(left, right);
+        CompressedBitmap.andNot(left, right);
+        CompressedBitmap copy = left.copy();
+        copy.clear();
+
+        assertThat(left.toArray()).containsExactly(leftValues);
+        assertThat(right.toArray()).containsExactly(rightValues);
+    }
+
+    @Test
+    void matchesTreeSetOnRandomOperations() {
+        Random random = new Random(42);
+        CompressedBitmap bitmap = new CompressedBitmap();
+        TreeSet<Integer> reference = new TreeSet<>();
+        for (int i = 0; i < 50_000; i++) {
+            // Three containers, the first dense enough to cross the threshold
+            int value = random.nextInt(3) * 65_536 + random.nextInt(i % 2 == 0 ? 6_000 : 65_536);
+            if (random.nextInt(4) == 0) {
+                bitmap.remove(value);
+                reference.remove(value);
+            } else {
+                bitmap.add(value);
+                reference.add(value);
+            }
+        }
+
+        assertThat(bitmap.cardinality()).isEqualTo(reference.size());
+        assertThat(bitmap.toArray()).containsExactly(expected(reference));
+        assertThat(bitmap.copy().toArray()).containsExactly(expected(reference));
+    }
+}
@@ -0,0 +1,112 @@
+package vn.noreo.jobhunter.util.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+// BM25 ranking, removal and reindexing of the in-memory index
+class InvertedIndexTest {
+
+    private static final float[] WEIGHTS = { 3f, 1f };
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        this.index = new InvertedIndex();
+    }
+
+    private void index(long key, String name, String description) {
+        this.index.index(key, new String[] { name, description }, WEIGHTS);
+    }
+
+    private List<Long> keys(String query) {
+        return this.index.search(query).stream().map(InvertedIndex.SearchHit::key).toList();
+    }
+
+    @Test
+    void matchInWeightedFieldRanksFirst() {
+        index(1, "Kế toán", "Biết lập trình Java là lợi thế");
+        index(2, "Lập trình viên Java", "Làm việc tại Hà Nội");
+        index(3, "Nhân viên kinh doanh", "Không yêu cầu kinh nghiệm");
+
+        assertThat(keys("java")).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void wholeWordRanksAboveSyllablesApart() {
+        index(1, "Trình độ lập kế hoạch", "");
+        index(2, "Lập trình", "");
+
+        assertThat(keys("lập trình")).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void rareTermOutweighsCommonTerm() {
+        index(1, "Java developer", "");
+        index(2, "Kotlin developer", "");
+        index(3, "Go developer", "");
+
+        List<InvertedIndex.SearchHit> hits = this.index.search("kotlin developer");
+        assertThat(hits).hasSize(3);
+        assertThat(hits.get(0).key()).isEqualTo(2L);
+        assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+        assertThat(hits.get(1).score()).isEqualTo(hits.get(2).score());
+    }
+
+    @Test
+    void shorterDocumentRanksFirstAtEqualFrequency() {
+        index(1, "Java", "");
+        index(2, "Java Spring Hibernate Microservices", "");
+
+        assertThat(keys("java")).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void noMatchOrEmptyQueryReturnsNothing() {
+        index(1, "Java", "");
+
+        assertThat(this.index.search("python")).isEmpty();
+        assertThat(this.index.search("")).isEmpty();
+        assertThat(new InvertedIndex().search("java")).isEmpty();
+    }
+
+    @Test
+    void removeDropsDocumentFromResults() {
+        index(1, "Java", "");
+        index(2, "Java", "");
+        index(3, "Java", "");
+
+        this.index.remove(2);
+        this.index.remove(42);
+
+        assertThat(this.index.size()).isEqualTo(2);
+        assertThat(keys("java")).containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    @Test
+    void reindexReplacesPreviousTerms() {
+        index(1, "Java", "");
+        index(1, "Python", "");
+
+        assertThat(this.index.size()).isEqualTo(1);
+        assertThat(keys("java")).isEmpty();
+        assertThat(keys("python")).containsExactly(1L);
+    }
+
+    @Test
+    void freedSlotIsReusedByNextDocument() {
+        for (long key = 1; key <= 2000; key++) {
+            index(key, "Java " + key, "");
+        }
+        this.index.remove(7);
+        index(5000, "Golang", "");
+
+        assertThat(this.index.size()).isEqualTo(2000);
+        assertThat(keys("golang")).containsExactly(5000L);
+        assertThat(keys("java")).hasSize(1999).doesNotContain(7L);
+    }
+}
@@ -0,0 +1,33 @@
+package vn.noreo.jobhunter.util.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+// Folding, HTML stripping and syllable bigrams
+class VietnameseAnalyzerTest {
+
+    @Test
+    void foldsDiacriticsAndCase() {
+        assertThat(VietnameseAnalyzer.fold("Lập Trình Viên Đà Nẵng")).isEqualTo("lap trinh vien da nang");
+    }
+
+    @Test
+    void emitsSyllablesThenBigrams() {
+        assertThat(VietnameseAnalyzer.analyze("Lập trình Java"))
+                .containsExactly("lap", "trinh", "java", "lap_trinh", "trinh_java");
+    }
+
+    @Test
+    void stripsHtmlTagsAndEntities() {
+        assertThat(VietnameseAnalyzer.analyze("<p>Spring&nbsp;<b>Boot</b></p>"))
+                .containsExactly("spring", "boot", "spring_boot");
+    }
+
+    @Test
+    void emptyTextHasNoTerms() {
+        assertThat(VietnameseAnalyzer.analyze(null)).isEmpty();
+        assertThat(VietnameseAnalyzer.analyze("")).isEmpty();
+        assertThat(VietnameseAnalyzer.analyze(" - , ")).isEmpty();
+    }
+}